@@ -2,6 +2,7 @@ import { useEffect, useState } from "react";
 import { motion } from "framer-motion";
 import { Clock, MapPin, RefreshCw } from "lucide-react";
 import api from "../utils/axiosConfig";
+import { getPhotoSrc } from "../utils/photoUrl";
 import DefaultImage from '../assets/Lost_And_Found.png'
 import { useNavigate } from "react-router-dom";
 
@@ -30,10 +31,33 @@ const RecentPosts = () => {
     fetchPosts();
   }, []);
 
-  // Refresh posts every 30 seconds to show new posts
+  // Live updates pushed by the server instead of polling /latest. EventSource reconnects on its own;
+  // reload once after a reconnect to pick up anything missed while disconnected.
   useEffect(() => {
-    const interval = setInterval(fetchPosts, 30000);
-    return () => clearInterval(interval);
+    const source = new EventSource(`${api.defaults.baseURL}/notifications/stream`);
+    let dropped = false;
+    source.onerror = () => {
+      dropped = true;
+    };
+    source.onopen = () => {
+      if (dropped) {
+        dropped = false;
+        fetchPosts();
+      }
+    };
+    source.addEventListener("report-created", (event) => {
+      const report = JSON.parse(event.data);
+      setPosts((prev) => [report, ...prev.filter((p) => p._id !== report._id)].slice(0, 16));
+    });
+    source.addEventListener("report-updated", (event) => {
+      const report = JSON.parse(event.data);
+      setPosts((prev) => prev.map((p) => (p._id === report._id ? report : p)));
+    });
+    source.addEventListener("report-deleted", (event) => {
+      const { _id } = JSON.parse(event.data);
+      setPosts((prev) => prev.filter((p) => p._id !== _id));
+    });
+    return () => source.close();
   }, []);
 
   const visiblePosts = showAll ? posts.slice(0, 16) : posts.slice(0, 8);
@@ -84,7 +108,7 @@ const RecentPosts = () => {
             {/* Image */}
             <div className="h-44 overflow-hidden">
               <img
-                src={post.itemPhoto ? post.itemPhoto : DefaultImage}
+                src={getPhotoSrc(post, 'thumbnail') || DefaultImage}
                 alt={post.itemName || "Lost/Found Item"}
                 className="w-full h-full object-cover transition-all duration-300 ease-out group-hover:scale-110"
               />
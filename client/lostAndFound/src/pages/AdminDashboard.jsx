@@ -24,6 +24,7 @@ import {
 import { useNavigate } from "react-router-dom";
 import { useAuth } from "../context/AuthContext";
 import api from "../utils/axiosConfig";
+import { getPhotoSrc } from "../utils/photoUrl";
 import DefaultImage from "../assets/Lost_And_Found.png";
 import Swal from 'sweetalert2';
 
@@ -803,7 +804,7 @@ const PostsTab = ({ posts, onDelete }) => {
         {/* Image */}
         <div className="h-48 overflow-hidden">
           <img
-            src={post.itemPhoto || DefaultImage}
+            src={getPhotoSrc(post, 'thumbnail') || DefaultImage}
             alt={post.itemName}
             className="w-full h-full object-cover"
           />
@@ -975,7 +976,7 @@ const ProfileTab = ({ adminHistory, adminPhone, adminCreatedAt, onEdit, onDelete
                 >
                   <div className="w-20 h-20 rounded-lg overflow-hidden flex-shrink-0 border border-red-500/30">
                     <img
-                      src={item.itemPhoto || DefaultImage}
+                      src={getPhotoSrc(item, 'thumbnail') || DefaultImage}
                       alt={item.itemName}
                       className="w-full h-full object-cover"
                     />
@@ -1056,7 +1057,7 @@ const ProfileTab = ({ adminHistory, adminPhone, adminCreatedAt, onEdit, onDelete
                 >
                   <div className="w-20 h-20 rounded-lg overflow-hidden flex-shrink-0 border border-green-500/30">
                     <img
-                      src={item.itemPhoto || DefaultImage}
+                      src={getPhotoSrc(item, 'thumbnail') || DefaultImage}
                       alt={item.itemName}
                       className="w-full h-full object-cover"
                     />
@@ -15,6 +15,7 @@ import {
 import { useNavigate, useParams } from "react-router-dom";
 import { useAuth } from "../context/AuthContext";
 import api from "../utils/axiosConfig";
+import { getPhotoSrc } from "../utils/photoUrl";
 import Swal from 'sweetalert2';
 
 const AdminEditPage = () => {
@@ -96,7 +97,7 @@ const AdminEditPage = () => {
         itemType: post.itemType || "lost",
         email: post.email || "",
         phone: post.phone || "",
-        itemPhoto: post.itemPhoto || ""
+        itemPhoto: getPhotoSrc(post) || ""
       });
     } catch (error) {
       console.error("Error fetching post:", error);
@@ -10,6 +10,7 @@ import Footer from "../components/Footer";
 import DefaultImage from "../assets/Lost_And_Found.png";
 import { useNavigate } from "react-router-dom";
 import api from "../utils/axiosConfig";
+import { getPhotoSrc } from "../utils/photoUrl";
 
 // Typewriter Component
 const TypewriterText = ({ text, className, onComplete }) => {
@@ -456,7 +457,7 @@ const HomePage = () => {
         {/* Image */}
                         <div className="h-32 overflow-hidden">
           <img
-            src={post.itemPhoto || DefaultImage}
+            src={getPhotoSrc(post, 'thumbnail') || DefaultImage}
             alt={post.itemName || "Lost or Found item"}
                             className="w-full h-full object-cover transition-all duration-300 ease-out group-hover:scale-110"
           />
@@ -1,6 +1,7 @@
 import React, { useEffect, useState } from 'react';
 import { useParams, useNavigate, useLocation } from 'react-router-dom';
 import api from '../utils/axiosConfig';
+import { getPhotoSrc } from '../utils/photoUrl';
 import DefaultImage from '../assets/Lost_And_Found.png';
 import { useAuth } from '../context/AuthContext';
 import {
@@ -166,10 +167,7 @@ const ItemDetailPage = () => {
   };
 
   const getImageSource = () => {
-    if (item.itemPhoto && item.itemPhoto.startsWith('data:image')) {
-      return item.itemPhoto;
-    }
-    return item.itemPhoto || DefaultImage;
+    return getPhotoSrc(item, 'medium') || DefaultImage;
   };
 
   const capitalizeWords = (str) => {
@@ -260,7 +258,7 @@ const ItemDetailPage = () => {
             animate={{ opacity: 1, x: 0 }}
             transition={{ duration: 0.6, delay: 0.2 }}
           >
-          {item.itemPhoto ? (
+          {getPhotoSrc(item) ? (
             <img
               src={getImageSource()}
               alt={item.itemName}
@@ -1,6 +1,7 @@
 import { useState, useEffect } from 'react';
 import { useNavigate, useParams } from 'react-router-dom';
 import api from '../utils/axiosConfig';
+import { getPhotoSrc } from '../utils/photoUrl';
 import Swal from 'sweetalert2';
 import DefaultImage from '../assets/Lost_And_Found.png'
 import { useAuth } from '../context/AuthContext';
@@ -78,7 +79,7 @@ const ItemUpdateForm = () => {
           itemLocation: data.itemLocation || '',
           itemDate: data.itemDate || '',
           itemDescription: data.itemDescription || '',
-          itemPhoto: data.itemPhoto || '',
+          itemPhoto: getPhotoSrc(data) || '',
           email: data.email || '',
           phone: data.phone || '',
           itemType: data.itemType || 'lost'
@@ -1,5 +1,6 @@
 import { useEffect, useState } from 'react';
 import api from '../utils/axiosConfig';
+import { getPhotoSrc } from '../utils/photoUrl';
 import { useNavigate } from 'react-router-dom';
 import DefaultImage from '../assets/Lost_And_Found.png'
 import { useAuth } from '../context/AuthContext';
@@ -418,7 +419,7 @@ const ProfilePage = () => {
                       >
                         <div className="w-20 h-20 rounded-lg overflow-hidden flex-shrink-0 border border-blue-500/30">
                           <img
-                            src={item.itemPhoto || DefaultImage}
+                            src={getPhotoSrc(item, 'thumbnail') || DefaultImage}
                             alt={item.itemName}
                             className="w-full h-full object-cover"
                           />
@@ -508,7 +509,7 @@ const ProfilePage = () => {
                       >
                         <div className="w-20 h-20 rounded-lg overflow-hidden flex-shrink-0 border border-yellow-500/30">
                           <img
-                            src={item.itemPhoto || DefaultImage}
+                            src={getPhotoSrc(item, 'thumbnail') || DefaultImage}
                             alt={item.itemName}
                             className="w-full h-full object-cover"
                           />
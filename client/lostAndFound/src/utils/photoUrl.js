@@ -0,0 +1,15 @@
+import api from './axiosConfig';
+
+// Reports carry a photoUrl (served by the API) once their photo is in the photo store,
+// plus thumbnailUrl/mediumUrl once renditions are built; older reports may still have
+// an inline base64 itemPhoto. size is "thumbnail", "medium" or omitted for the original.
+export const getPhotoSrc = (item, size) => {
+  const renditionUrl = size === 'thumbnail' ? item?.thumbnailUrl
+    : size === 'medium' ? item?.mediumUrl
+    : null;
+  const url = renditionUrl || item?.photoUrl;
+  if (url) {
+    return `${api.defaults.baseURL}${url}`;
+  }
+  return item?.itemPhoto || null;
+};
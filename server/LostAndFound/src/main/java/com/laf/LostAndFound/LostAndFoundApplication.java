@@ -2,18 +2,24 @@ package com.laf.LostAndFound;
 
 import com.laf.LostAndFound.entity.User;
 import com.laf.LostAndFound.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.mongodb.config.EnableMongoAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import java.util.Optional;
 
 @SpringBootApplication
 @EnableMongoAuditing
+@EnableScheduling
 public class LostAndFoundApplication implements CommandLineRunner {
 
+    private static final Logger log = LoggerFactory.getLogger(LostAndFoundApplication.class);
+
     @Autowired
     private UserRepository userRepository;
 
@@ -34,13 +40,12 @@ public class LostAndFoundApplication implements CommandLineRunner {
             adminUser.setPassword(passwordEncoder.encode("admin@123"));
             adminUser.setPhone("9265379915");
             User savedAdmin = userRepository.save(adminUser);
-            System.out.println("Admin user created successfully!");
-            System.out.println("Admin user details - Email: " + savedAdmin.getEmail() + ", Phone: " + savedAdmin.getPhone() + ", Username: " + savedAdmin.getUsername());
+            log.info("Admin user created: {}", savedAdmin.getEmail());
         } else {
             Optional<User> existingAdmin = userRepository.findByEmail("laf@admin.com");
             if (existingAdmin.isPresent()) {
                 User admin = existingAdmin.get();
-                System.out.println("Admin user already exists - Email: " + admin.getEmail() + ", Phone: " + admin.getPhone() + ", Username: " + admin.getUsername());
+                log.info("Admin user already exists: {}", admin.getEmail());
             }
         }
     }
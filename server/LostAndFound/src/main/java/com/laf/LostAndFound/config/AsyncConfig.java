@@ -0,0 +1,27 @@
+package com.laf.LostAndFound.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class AsyncConfig {
+
+    // Image decoding is CPU heavy; keep it off the request threads and bounded.
+    // Renditions can be regenerated later, so overflow is dropped rather than queued forever.
+    @Bean(name = "imageExecutor")
+    public ThreadPoolTaskExecutor imageExecutor(@Value("${photo.renditions.threads:2}") int threads,
+                                                @Value("${photo.renditions.queue:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("image-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        executor.initialize();
+        return executor;
+    }
+}
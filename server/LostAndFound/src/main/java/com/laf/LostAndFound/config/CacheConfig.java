@@ -0,0 +1,31 @@
+package com.laf.LostAndFound.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String USER_DETAILS_CACHE = "userDetails";
+
+    // Bounded and short-lived: a password change or deleted account is picked up within the TTL
+    // even if an explicit eviction is missed. recordStats() feeds the hit/miss counters.
+    @Bean
+    public CacheManager cacheManager(@Value("${cache.user-details.max-size:10000}") long maxSize,
+                                     @Value("${cache.user-details.ttl-seconds:300}") long ttlSeconds) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(USER_DETAILS_CACHE);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats());
+        return cacheManager;
+    }
+}
@@ -0,0 +1,21 @@
+package com.laf.LostAndFound.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+// Decides whether a high-volume read path logs its summary line for this request
+@Component
+public class LogSampler {
+
+    private final double rate;
+
+    public LogSampler(@Value("${logging.sample.feed-rate:0.01}") double rate) {
+        this.rate = rate;
+    }
+
+    public boolean sample() {
+        return rate >= 1.0 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+}
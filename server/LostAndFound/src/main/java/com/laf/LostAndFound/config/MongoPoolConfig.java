@@ -0,0 +1,22 @@
+package com.laf.LostAndFound.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class MongoPoolConfig {
+
+    // The connection pool is the real concurrency limit once request threads are cheap (virtual threads):
+    // size it explicitly and fail fast instead of letting callers queue for the driver's default two minutes.
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoPoolCustomizer(@Value("${mongo.pool.max-size:100}") int maxSize,
+                                                                   @Value("${mongo.pool.max-wait-ms:120000}") long maxWaitMillis) {
+        return builder -> builder.applyToConnectionPoolSettings(pool -> pool
+                .maxSize(maxSize)
+                .maxWaitTime(maxWaitMillis, TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,186 @@
+package com.laf.LostAndFound.config;
+
+import com.laf.LostAndFound.entity.User;
+import com.laf.LostAndFound.entity.UserReport;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.geo.Circle;
+import org.springframework.data.geo.Point;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Runs explain() on every query shape the repositories and services issue on a request path and reports
+// any that would scan the whole collection (COLLSCAN) or sort in memory (SORT).
+// mongo.query-plans.check: warn (default) logs, fail aborts startup, off skips the check.
+// Deliberately not listed: findByItemNameContainingIgnoreCase (unanchored regex, only the search fallback),
+// the one-off migration/rebuild scans, and findFiltered with no filter at all (its counts cover every report),
+// which read every document by design.
+@Component
+public class QueryPlanVerifier implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryPlanVerifier.class);
+    private static final String SAMPLE_EMAIL = "query-plan-check@example.invalid";
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "_id"));
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${mongo.query-plans.check:warn}")
+    private String mode;
+
+    @Override
+    public void run(String... args) {
+        if ("off".equalsIgnoreCase(mode)) return;
+        List<String> problems = verify();
+        if (problems.isEmpty()) {
+            log.info("Query plan check passed for {} query shapes", shapes().size());
+            return;
+        }
+        problems.forEach(problem -> log.warn("Query plan check: {}", problem));
+        if ("fail".equalsIgnoreCase(mode)) {
+            throw new IllegalStateException("Unindexed queries: " + problems);
+        }
+    }
+
+    // One entry per offending shape, e.g. "UserReportRepository.findByEmail: COLLSCAN"
+    public List<String> verify() {
+        List<String> problems = new ArrayList<>();
+        for (QueryShape shape : shapes()) {
+            Set<String> stages = winningStages(explain(shape));
+            List<String> bad = new ArrayList<>();
+            if (stages.contains("COLLSCAN")) bad.add("COLLSCAN");
+            if (stages.contains("SORT")) bad.add("in-memory SORT");
+            if (!bad.isEmpty()) {
+                problems.add(shape.name + ": " + String.join(", ", bad));
+            }
+        }
+        return problems;
+    }
+
+    List<QueryShape> shapes() {
+        ObjectId id = new ObjectId();
+        Date now = new Date();
+        List<QueryShape> shapes = new ArrayList<>();
+
+        shapes.add(new QueryShape("UserReportRepository.findById", UserReport.class,
+                new Query(Criteria.where("_id").is(id))));
+        shapes.add(new QueryShape("UserReportRepository.findByEmail", UserReport.class,
+                new Query(Criteria.where("email").is(SAMPLE_EMAIL))));
+        shapes.add(new QueryShape("UserReportRepository.existsByEmailAndDedupeKey", UserReport.class,
+                new Query(Criteria.where("email").is(SAMPLE_EMAIL).and("dedupeKey").is("wallet|bags|library|2024-01-01")).limit(1)));
+        shapes.add(new QueryShape("UserReportRepository.findTop16ByOrderByCreatedAtDescIdDesc", UserReport.class,
+                new Query().with(NEWEST_FIRST).limit(16)));
+        shapes.add(new QueryShape("UserReportController.getAllReports", UserReport.class,
+                new Query().with(Sort.by(Sort.Direction.DESC, "createdAt"))));
+        shapes.add(new QueryShape("UserReportReactiveRepository.findByEmailOrderByCreatedAtDescIdDesc", UserReport.class,
+                new Query(Criteria.where("email").is(SAMPLE_EMAIL)).with(NEWEST_FIRST)));
+        shapes.add(new QueryShape("UserReportRepository.findSummariesBefore", UserReport.class,
+                new Query(new Criteria().orOperator(
+                        Criteria.where("createdAt").lt(now),
+                        Criteria.where("createdAt").is(now).and("_id").lt(id)))
+                        .with(NEWEST_FIRST).limit(20)));
+        shapes.add(new QueryShape("UserReportRepository.findSummariesByIds", UserReport.class,
+                new Query(Criteria.where("_id").in(List.of(id, new ObjectId())))));
+        // $geoNear is an aggregation stage; a $nearSphere find explains to the same 2dsphere plan
+        shapes.add(new QueryShape("UserReportRepository.findSummariesNear", UserReport.class,
+                new Query(Criteria.where("coordinates").nearSphere(new GeoJsonPoint(72.5714, 23.0225)).maxDistance(2000)).limit(21)));
+        // findFiltered's $match; the page order is a top-k sort inside $facet, so no sort here
+        shapes.add(new QueryShape("UserReportRepository.findFiltered (type)", UserReport.class,
+                new Query(Criteria.where("itemType").is("lost"))));
+        shapes.add(new QueryShape("UserReportRepository.findFiltered (category, type)", UserReport.class,
+                new Query(Criteria.where("itemType").is("lost").and("itemCategory").is("Electronics"))));
+        shapes.add(new QueryShape("UserReportRepository.findFiltered (location, dates)", UserReport.class,
+                new Query(Criteria.where("itemLocation").is("Library").and("itemDate").gte("2024-01-01").lt("2024-02-01"))));
+        shapes.add(new QueryShape("UserReportRepository.findFiltered (dates)", UserReport.class,
+                new Query(Criteria.where("itemDate").gte("2024-01-01").lt("2024-02-01"))));
+        shapes.add(new QueryShape("UserReportRepository.findFiltered (from date)", UserReport.class,
+                new Query(Criteria.where("itemDate").gte("2024-01-01"))));
+        shapes.add(new QueryShape("UserReportRepository.findFiltered (near)", UserReport.class,
+                new Query(Criteria.where("coordinates")
+                        .withinSphere(new Circle(new Point(72.5714, 23.0225), 2000 / UserReport.EARTH_RADIUS_METRES)))));
+        shapes.add(new QueryShape("ReportBulkServices.existingKeys", UserReport.class,
+                new Query(Criteria.where("email").is(SAMPLE_EMAIL).and("dedupeKey")
+                        .in(List.of("wallet|bags|library|2024-01-01", "keys|keys|gym|2024-01-02")))));
+        shapes.add(new QueryShape("ReportBulkServices.exportReports", UserReport.class,
+                new Query().with(NEWEST_FIRST)));
+        shapes.add(new QueryShape("ReportBulkServices.exportReports (email)", UserReport.class,
+                new Query(Criteria.where("email").is(SAMPLE_EMAIL)).with(NEWEST_FIRST)));
+        shapes.add(new QueryShape("PhotoServices.deleteIfUnreferenced", UserReport.class,
+                new Query(new Criteria().orOperator(
+                        Criteria.where("photoId").is("0".repeat(64)),
+                        Criteria.where("thumbnailId").is("0".repeat(64)),
+                        Criteria.where("mediumId").is("0".repeat(64)))).limit(1)));
+        shapes.add(new QueryShape("UserRepository.findByEmail", User.class,
+                new Query(Criteria.where("email").is(SAMPLE_EMAIL))));
+        shapes.add(new QueryShape("UserServices.userLogin (rehash)", User.class,
+                new Query(Criteria.where("_id").is(id).and("password").is("$2a$10$"))));
+        return shapes;
+    }
+
+    private Document explain(QueryShape shape) {
+        Document find = new Document("find", mongoTemplate.getCollectionName(shape.entity))
+                .append("filter", shape.query.getQueryObject());
+        if (!shape.query.getSortObject().isEmpty()) {
+            find.append("sort", shape.query.getSortObject());
+        }
+        if (shape.query.getLimit() > 0) {
+            find.append("limit", shape.query.getLimit());
+        }
+        return mongoTemplate.getDb().runCommand(new Document("explain", find).append("verbosity", "queryPlanner"));
+    }
+
+    // Every "stage" name in the winning plan, including per-shard and $or sub-plans; rejected plans are ignored
+    static Set<String> winningStages(Document explain) {
+        Set<String> stages = new LinkedHashSet<>();
+        Object queryPlanner = explain.get("queryPlanner");
+        if (queryPlanner instanceof Document) {
+            collectStages(((Document) queryPlanner).get("winningPlan"), stages);
+        }
+        return stages;
+    }
+
+    private static void collectStages(Object node, Set<String> stages) {
+        if (node instanceof Map) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) node).entrySet()) {
+                if ("rejectedPlans".equals(entry.getKey())) continue;
+                if ("stage".equals(entry.getKey()) && entry.getValue() instanceof String) {
+                    stages.add((String) entry.getValue());
+                } else {
+                    collectStages(entry.getValue(), stages);
+                }
+            }
+        } else if (node instanceof List) {
+            for (Object child : (List<?>) node) {
+                collectStages(child, stages);
+            }
+        }
+    }
+
+    static final class QueryShape {
+        final String name;
+        final Class<?> entity;
+        final Query query;
+
+        QueryShape(String name, Class<?> entity, Query query) {
+            this.name = name;
+            this.entity = entity;
+            this.query = query;
+        }
+    }
+}
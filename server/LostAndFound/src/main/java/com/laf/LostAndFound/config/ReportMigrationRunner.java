@@ -0,0 +1,22 @@
+package com.laf.LostAndFound.config;
+
+import com.laf.LostAndFound.services.UserReportServices;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// One-off: start once with reports.migrate-on-startup=true to drop User.userReports and backfill
+// the owner/dedupe/createdAt fields on userReports. Safe to re-run.
+@Component
+@ConditionalOnProperty(name = "reports.migrate-on-startup", havingValue = "true")
+public class ReportMigrationRunner implements CommandLineRunner {
+
+    @Autowired
+    private UserReportServices userReportServices;
+
+    @Override
+    public void run(String... args) {
+        userReportServices.migrateUserReportBackrefs();
+    }
+}
@@ -2,7 +2,11 @@ package com.laf.LostAndFound.config;
 
 import com.laf.LostAndFound.security.CustomUserDetailsService;
 import com.laf.LostAndFound.security.JwtAuthenticationFilter;
+import com.laf.LostAndFound.security.RateLimitFilter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -26,32 +30,49 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+
     @Autowired
     private CustomUserDetailsService userDetailsService;
 
+    @Value("${server.port:8080}")
+    private String serverPort;
+
+    @Value("${management.server.port:}")
+    private String managementPort;
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+        // Metrics name every endpoint, user count and pool size; on the public port only health is served
+        boolean actuatorOnPublicPort = managementPort.isEmpty() || managementPort.equals(serverPort);
         http
             .csrf(csrf -> csrf.disable())
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
-            .authorizeHttpRequests(auth -> auth
-                .requestMatchers("/lostAndFound/user-register", "/lostAndFound/user-login", "/lostAndFound/admin-login", "/lostAndFound/auth/google").permitAll()
-                .requestMatchers("/lostAndFound/search", "/lostAndFound/detail/**").permitAll()
-                .requestMatchers("/lostAndFound/home", "/lostAndFound/HowItWorksPage", "/lostAndFound/ServicesPage", "/lostAndFound/ContactPage").permitAll()
-                .requestMatchers("/user-reports/**").permitAll()
-                .requestMatchers("/lostAndFound/getUser/**", "/lostAndFound/user-get/**", "/lostAndFound/user-history/**", "/lostAndFound/getAllUsers").permitAll()
-                .requestMatchers("/lostAndFound/**").permitAll()
-                .anyRequest().permitAll()
-            )
+            .authorizeHttpRequests(auth -> {
+                if (actuatorOnPublicPort) {
+                    auth.requestMatchers(EndpointRequest.toAnyEndpoint().excluding(HealthEndpoint.class)).denyAll();
+                }
+                auth
+                    .requestMatchers("/lostAndFound/user-register", "/lostAndFound/user-login", "/lostAndFound/admin-login", "/lostAndFound/auth/google").permitAll()
+                    .requestMatchers("/lostAndFound/search", "/lostAndFound/search/**", "/lostAndFound/detail/**").permitAll()
+                    .requestMatchers("/lostAndFound/home", "/lostAndFound/HowItWorksPage", "/lostAndFound/ServicesPage", "/lostAndFound/ContactPage").permitAll()
+                    .requestMatchers("/user-reports/**").permitAll()
+                    .requestMatchers("/lostAndFound/getUser/**", "/lostAndFound/user-get/**", "/lostAndFound/user-history/**", "/lostAndFound/getAllUsers").permitAll()
+                    .requestMatchers("/lostAndFound/**").permitAll()
+                    .anyRequest().permitAll();
+            })
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+            .addFilterBefore(rateLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
 
+    // Raising the strength is safe: existing hashes are upgraded on the user's next login
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${security.bcrypt.strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 
     @Bean
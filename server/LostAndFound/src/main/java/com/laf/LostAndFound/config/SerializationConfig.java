@@ -0,0 +1,42 @@
+package com.laf.LostAndFound.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.geo.GeoJsonModule;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+// Smile (application/x-jackson-smile) and CBOR (application/cbor) bodies for clients that send them in
+// Accept. They are appended after the JSON converter so "Accept: */*" and browsers still get JSON.
+// Both mappers come from Boot's builder, so they share the JSON mapper's modules and inclusion settings.
+@Configuration
+public class SerializationConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private Jackson2ObjectMapperBuilder objectMapperBuilder;
+
+    // Report coordinates go out as plain GeoJSON; without this Jackson adds the point's x/y getters.
+    // Reading GeoJSON is registered by Spring Data's web support. Static: this class needs the builder
+    // that consumes the module.
+    @Bean
+    public static Module geoJsonSerializers() {
+        return GeoJsonModule.serializers();
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new MappingJackson2SmileHttpMessageConverter(
+                objectMapperBuilder.factory(new SmileFactory()).build()));
+        converters.add(new MappingJackson2CborHttpMessageConverter(
+                objectMapperBuilder.factory(new CBORFactory()).build()));
+    }
+}
@@ -0,0 +1,37 @@
+package com.laf.LostAndFound.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.HexFormat;
+
+// Validators for reads. A document's tag is its id plus its last-modified stamp, so any save (which bumps
+// updatedAt) changes it; documents written before updatedAt existed fall back to createdAt.
+// Tags are weak: the JSON, Smile and CBOR bodies of one version share a tag, which a strong validator may not
+// (they are not byte-identical). If-None-Match uses weak comparison, so 304s work the same.
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String forDocument(String id, Date updatedAt, Date createdAt) {
+        return "W/\"" + id + "-" + lastModified(updatedAt, createdAt) + "\"";
+    }
+
+    static long lastModified(Date updatedAt, Date createdAt) {
+        if (updatedAt != null) return updatedAt.getTime();
+        if (createdAt != null) return createdAt.getTime();
+        return 0;
+    }
+
+    // For lists and aggregates: hash of a canonical string built by the caller
+    static String forContent(String content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            return "W/\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.laf.LostAndFound.controller;
+
+import com.laf.LostAndFound.notifications.EventSink;
+import com.laf.LostAndFound.notifications.ReportEventHub;
+import com.laf.LostAndFound.notifications.SubscriptionFilter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+
+// Server-sent events for report-created / report-updated / report-deleted, optionally filtered by
+// category and location (repeat or comma-separate the parameters). Requests with a valid bearer token
+// also receive match-found events for the caller's own reports. Browsers reconnect on their own after
+// the stream times out, and should re-read /user-reports/latest when they do.
+@RestController
+@CrossOrigin(origins = "*")
+@RequestMapping("/notifications")
+public class NotificationController {
+
+    @Autowired
+    private ReportEventHub reportEventHub;
+
+    @Value("${notifications.stream-timeout-ms:1800000}")
+    private long streamTimeoutMillis;
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(@RequestParam(required = false) List<String> category,
+                                             @RequestParam(required = false) List<String> location) {
+        SubscriptionFilter filter = new SubscriptionFilter(
+                category != null ? new HashSet<>(category) : null,
+                location != null ? new HashSet<>(location) : null,
+                currentUserEmail());
+
+        SseEmitter emitter = new SseEmitter(streamTimeoutMillis);
+        ReportEventHub.Subscription subscription = reportEventHub.subscribe(filter, new EventSink() {
+            @Override
+            public void send(String eventName, String data) throws IOException {
+                emitter.send(SseEmitter.event().name(eventName).data(data));
+            }
+
+            @Override
+            public void ping() throws IOException {
+                emitter.send(SseEmitter.event().comment("ping"));
+            }
+
+            @Override
+            public void close() {
+                emitter.complete();
+            }
+        });
+        if (subscription == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "30").build();
+        }
+        emitter.onCompletion(() -> reportEventHub.unsubscribe(subscription));
+        emitter.onTimeout(() -> reportEventHub.unsubscribe(subscription));
+        emitter.onError(e -> reportEventHub.unsubscribe(subscription));
+        return ResponseEntity.ok(emitter);
+    }
+
+    private static String currentUserEmail() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,153 @@
+package com.laf.LostAndFound.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.laf.LostAndFound.dto.ImportSummary;
+import com.laf.LostAndFound.entity.UserReport;
+import com.laf.LostAndFound.services.ReportBulkServices;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+// Bulk import for offices that collect many items at once, and a full export. Both stream: the import
+// reads the request body row by row and answers with one NDJSON result line per row as each batch is
+// written, ending with an ImportSummary line; the export writes reports as the Mongo cursor yields them.
+@RestController
+@CrossOrigin(origins = "*")
+@RequestMapping("/user-reports/bulk")
+public class ReportBulkController {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportBulkController.class);
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+    private static final String[] EXPORT_COLUMNS = {"_id", "itemType", "itemName", "itemCategory", "itemLocation",
+            "itemDate", "itemDescription", "email", "phone", "longitude", "latitude", "photoUrl", "createdAt",
+            "updatedAt"};
+    private static final CsvMapper CSV_MAPPER = new CsvMapper();
+
+    @Autowired
+    private ReportBulkServices reportBulkServices;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Body: NDJSON (one report object per line) or CSV with a header row, both in the /user-entry field names
+    @PostMapping(value = "/import/{email}", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> importReports(@PathVariable String email, HttpServletRequest request) {
+        if (email == null || email.trim().isEmpty()) {
+            return message(HttpStatus.BAD_REQUEST, "Invalid input: Email is missing");
+        }
+        if (!reportBulkServices.canImportFor(email.trim())) {
+            return message(HttpStatus.NOT_FOUND, "User not found");
+        }
+        boolean csv = TEXT_CSV.isCompatibleWith(MediaType.parseMediaType(request.getContentType()));
+        StreamingResponseBody body = out -> {
+            // Result lines go out a batch at a time so a long import shows progress and never buffers
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+            generator.setRootValueSeparator(null);
+            ImportSummary summary = reportBulkServices.importReports(request.getInputStream(), csv, email.trim(), result -> {
+                try {
+                    writeLine(generator, result);
+                    generator.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writeLine(generator, summary);
+            generator.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    // format=ndjson (default) or csv; email limits the export to one owner's reports
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportReports(@RequestParam(defaultValue = "ndjson") String format,
+                                                               @RequestParam(required = false) String email) {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        if (!csv && !"ndjson".equalsIgnoreCase(format)) {
+            return ResponseEntity.badRequest().build();
+        }
+        StreamingResponseBody body = out -> {
+            try (Stream<UserReport> reports = reportBulkServices.exportReports(email)) {
+                Iterator<UserReport> iterator = reports.iterator();
+                if (csv) {
+                    CsvSchema.Builder schema = CsvSchema.builder().setUseHeader(true);
+                    for (String column : EXPORT_COLUMNS) {
+                        schema.addColumn(column);
+                    }
+                    try (SequenceWriter writer = CSV_MAPPER.writer(schema.build()).writeValues(out)) {
+                        while (iterator.hasNext()) {
+                            writer.write(exportRow(iterator.next()));
+                        }
+                    }
+                } else {
+                    JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+                    generator.setRootValueSeparator(null);
+                    while (iterator.hasNext()) {
+                        writeLine(generator, exportRow(iterator.next()));
+                    }
+                    generator.flush();
+                }
+            } catch (RuntimeException e) {
+                // Headers are already sent; the client sees a truncated file
+                log.error("Report export failed", e);
+                throw e;
+            }
+        };
+        String filename = "reports." + (csv ? "csv" : "ndjson");
+        return ResponseEntity.ok()
+                .contentType(csv ? TEXT_CSV : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
+    // Streaming handlers cannot also return a plain String body
+    private static ResponseEntity<StreamingResponseBody> message(HttpStatus status, String message) {
+        return ResponseEntity.status(status).contentType(MediaType.TEXT_PLAIN)
+                .body(out -> out.write(message.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static void writeLine(JsonGenerator generator, Object value) throws IOException {
+        generator.writeObject(value);
+        generator.writeRaw('\n');
+    }
+
+    // Flat, fixed columns so NDJSON and CSV rows match and re-import through /import
+    private static Map<String, Object> exportRow(UserReport report) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("_id", report.getId());
+        row.put("itemType", report.getItemType());
+        row.put("itemName", report.getItemName());
+        row.put("itemCategory", report.getItemCategory());
+        row.put("itemLocation", report.getItemLocation());
+        row.put("itemDate", report.getItemDate());
+        row.put("itemDescription", report.getItemDescription());
+        row.put("email", report.getEmail());
+        row.put("phone", report.getPhone());
+        row.put("longitude", report.getCoordinates() != null ? report.getCoordinates().getX() : null);
+        row.put("latitude", report.getCoordinates() != null ? report.getCoordinates().getY() : null);
+        row.put("photoUrl", report.getPhotoUrl());
+        row.put("createdAt", report.getCreatedAt() != null ? report.getCreatedAt().toInstant().toString() : null);
+        row.put("updatedAt", report.getUpdatedAt() != null ? report.getUpdatedAt().toInstant().toString() : null);
+        return row;
+    }
+}
@@ -1,28 +1,40 @@
 package com.laf.LostAndFound.controller;
 
 import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
-import com.google.api.client.googleapis.auth.oauth2.GoogleIdTokenVerifier;
-import com.google.api.client.googleapis.javanet.GoogleNetHttpTransport;
-import com.google.api.client.json.jackson2.JacksonFactory;
+import com.laf.LostAndFound.config.LogSampler;
 import com.laf.LostAndFound.dto.AuthResponse;
 import com.laf.LostAndFound.dto.LoginRequest;
+import com.laf.LostAndFound.dto.ReportSummary;
+import com.laf.LostAndFound.dto.SearchPage;
 import com.laf.LostAndFound.entity.User;
 import com.laf.LostAndFound.entity.UserReport;
 import com.laf.LostAndFound.repository.UserReportRepository;
 import com.laf.LostAndFound.repository.UserRepository;
+import com.laf.LostAndFound.search.SearchIndexNotReadyException;
+import com.laf.LostAndFound.security.CustomUserDetailsService;
+import com.laf.LostAndFound.security.GoogleTokenVerifier;
 import com.laf.LostAndFound.security.JwtUtil;
+import com.laf.LostAndFound.security.PasswordHashingBusyException;
+import com.laf.LostAndFound.security.PasswordHashingService;
+import com.laf.LostAndFound.services.ReportSearchServices;
 import com.laf.LostAndFound.services.UserServices;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.security.GeneralSecurityException;
-import java.util.Collections;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -33,9 +45,21 @@ import java.util.Optional;
 @CrossOrigin(origins = "*")
 public class UserController {
 
+    private static final Logger log = LoggerFactory.getLogger(UserController.class);
+
+    @Autowired
+    private LogSampler logSampler;
+
+    private static final String BUSY_RETRY_AFTER_SECONDS = "2";
+    // The startup index rebuild takes seconds to minutes depending on the number of reports
+    private static final String INDEX_RETRY_AFTER_SECONDS = "10";
+
     @Autowired
     private UserServices userServices;
 
+    @Autowired
+    private ReportSearchServices reportSearchServices;
+
     @Autowired
     private UserReportRepository userReportRepository;
 
@@ -49,17 +73,29 @@ public class UserController {
     private JwtUtil jwtUtil;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private CustomUserDetailsService customUserDetailsService;
+
+    @Autowired
+    private GoogleTokenVerifier googleTokenVerifier;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
 
 
 //    User Register
     @PostMapping("/user-register")
-    public String userRegister(@RequestBody User user){
-        boolean b = userServices.userRegister(user);
-        if (b){
-            return "Registration successfully";
-        } else {
-            return "Registration failed: Email already exists";
+    public ResponseEntity<String> userRegister(@RequestBody User user){
+        try {
+            boolean b = userServices.userRegister(user);
+            if (b){
+                return ResponseEntity.ok("Registration successfully");
+            } else {
+                return ResponseEntity.ok("Registration failed: Email already exists");
+            }
+        } catch (PasswordHashingBusyException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, BUSY_RETRY_AFTER_SECONDS)
+                    .body(e.getMessage());
         }
     }
 
@@ -89,6 +125,10 @@ public class UserController {
                 response.put("message", "Login failed: Email and Password Wrong");
                 return ResponseEntity.badRequest().body(response);
             }
+        } catch (PasswordHashingBusyException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, BUSY_RETRY_AFTER_SECONDS)
+                    .body(Map.of("message", e.getMessage()));
         } catch (Exception e) {
             Map<String, String> response = new HashMap<>();
             response.put("message", "Login failed: Email and Password Wrong");
@@ -103,46 +143,97 @@ public class UserController {
 
     @GetMapping("/search")
     public List<UserReport> searchByItemName(@RequestParam String itemName) {
-        return userReportRepository.findByItemNameContainingIgnoreCase(itemName);
+        return reportSearchServices.searchReports(itemName);
+    }
+
+    // Ranked, typo-tolerant search over name, description, category and location
+    @GetMapping("/search/reports")
+    public ResponseEntity<?> searchReports(@RequestParam String q,
+                                           @RequestParam(required = false) Integer page,
+                                           @RequestParam(required = false) Integer size) {
+        try {
+            SearchPage<ReportSummary> results = reportSearchServices.search(q, page, size);
+            return ResponseEntity.ok(results);
+        } catch (SearchIndexNotReadyException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, INDEX_RETRY_AFTER_SECONDS)
+                    .body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            log.error("Report search failed", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Search failed");
+        }
+    }
+
+    @GetMapping("/search/suggest")
+    public ResponseEntity<List<String>> suggestItemNames(@RequestParam String prefix,
+                                                         @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(reportSearchServices.suggest(prefix, limit));
+        } catch (SearchIndexNotReadyException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, INDEX_RETRY_AFTER_SECONDS)
+                    .build();
+        } catch (Exception e) {
+            log.error("Search suggestions failed", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
     }
 
     @GetMapping("/user-history/{email}")
     public List<UserReport> getUserHistory(@PathVariable String email) {
-        System.out.println("Fetching history for: " + email);
         List<UserReport> reports = userReportRepository.findByEmail(email);
-        System.out.println("Found " + reports.size() + " reports.");
-        for (UserReport report : reports) {
-            System.out.println("Report: " + report.getItemName() + " - Email: " + report.getEmail());
+        if (logSampler.sample()) {
+            log.info("user-history returned {} reports", reports.size());
         }
         return reports;
     }
 
 
+    // Profiles carry contact details, so only the caller's own cache may keep them, and only with revalidation
     @GetMapping("/getUser/{email}")
-    public ResponseEntity<User> getUserByEmail(@PathVariable String email) {
+    public ResponseEntity<User> getUserByEmail(@PathVariable String email, WebRequest webRequest) {
         Optional<User> user = userRepository.findByEmail(email);
         if (user.isPresent()) {
             User foundUser = user.get();
-            System.out.println("Found user: " + foundUser.getEmail() + ", Phone: " + foundUser.getPhone() + ", Username: " + foundUser.getUsername());
-            return ResponseEntity.ok(foundUser);
+            long lastModified = ETags.lastModified(toDate(foundUser.getUpdatedAt()), toDate(foundUser.getCreatedAt()));
+            String etag = ETags.forDocument(foundUser.getId(), toDate(foundUser.getUpdatedAt()), toDate(foundUser.getCreatedAt()));
+            CacheControl cacheControl = CacheControl.noCache().cachePrivate();
+            if (webRequest.checkNotModified(etag, lastModified)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).lastModified(lastModified)
+                        .cacheControl(cacheControl).varyBy(HttpHeaders.ACCEPT).build();
+            }
+            return ResponseEntity.ok().eTag(etag).lastModified(lastModified)
+                    .cacheControl(cacheControl).varyBy(HttpHeaders.ACCEPT).body(foundUser);
         } else {
-            System.out.println("User not found for email: " + email);
+            log.debug("User not found for email: {}", email);
             // For admin user, create it if it doesn't exist
             if ("laf@admin.com".equals(email)) {
-                System.out.println("Creating admin user as it doesn't exist");
                 User adminUser = new User();
                 adminUser.setUsername("Admin");
                 adminUser.setEmail("laf@admin.com");
-                adminUser.setPassword(passwordEncoder.encode("admin@123"));
+                try {
+                    adminUser.setPassword(passwordHashingService.encode("admin@123"));
+                } catch (PasswordHashingBusyException e) {
+                    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                            .header(HttpHeaders.RETRY_AFTER, BUSY_RETRY_AFTER_SECONDS)
+                            .build();
+                }
                 adminUser.setPhone("9265379915");
                 User savedAdmin = userRepository.save(adminUser);
-                System.out.println("Admin user created: " + savedAdmin.getEmail() + ", Phone: " + savedAdmin.getPhone());
+                customUserDetailsService.evict(savedAdmin.getEmail());
+                log.info("Admin user created: {}", savedAdmin.getEmail());
                 return ResponseEntity.ok(savedAdmin);
             }
             return ResponseEntity.notFound().build();
         }
     }
 
+    private static Date toDate(LocalDateTime time) {
+        return time != null ? Date.from(time.atZone(ZoneId.systemDefault()).toInstant()) : null;
+    }
+
     @GetMapping("/getAllUsers")
     public ResponseEntity<List<User>> getAllUsers() {
         List<User> users = userRepository.findAll();
@@ -159,14 +250,7 @@ public class UserController {
             }
 
             // Verify Google ID token
-            var httpTransport = GoogleNetHttpTransport.newTrustedTransport();
-            var jsonFactory = JacksonFactory.getDefaultInstance();
-            GoogleIdTokenVerifier verifier = new GoogleIdTokenVerifier.Builder(httpTransport, jsonFactory)
-                    .setAudience(Collections.singletonList(
-                            "21822425516-ok3rneq3tf74m1imo7v1gi527h1fajlv.apps.googleusercontent.com"))
-                    .build();
-
-            GoogleIdToken idToken = verifier.verify(idTokenString);
+            GoogleIdToken idToken = googleTokenVerifier.verify(idTokenString);
             if (idToken == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("message", "Invalid Google ID token"));
             }
@@ -185,8 +269,9 @@ public class UserController {
                 user = new User();
                 user.setEmail(email);
                 user.setUsername(name != null ? name : email.split("@")[0]);
-                user.setPassword(passwordEncoder.encode("google-oauth"));
+                user.setPassword(passwordHashingService.encode("google-oauth"));
                 user = userRepository.save(user);
+                customUserDetailsService.evict(email);
             }
 
             String token = jwtUtil.generateToken(email);
@@ -196,11 +281,15 @@ public class UserController {
             response.put("email", email);
             response.put("username", user.getUsername());
             return ResponseEntity.ok(response);
+        } catch (PasswordHashingBusyException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, BUSY_RETRY_AFTER_SECONDS)
+                    .body(Map.of("message", e.getMessage()));
         } catch (GeneralSecurityException ge) {
-            ge.printStackTrace();
+            log.warn("Google token verification failed", ge);
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("message", "Token verification failed"));
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Google auth failed", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("message", "Google auth failed"));
         }
     }
@@ -228,7 +317,7 @@ public class UserController {
             
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid admin credentials");
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Admin login failed", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Login failed");
         }
     }
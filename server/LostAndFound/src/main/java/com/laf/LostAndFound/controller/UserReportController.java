@@ -1,36 +1,87 @@
 package com.laf.LostAndFound.controller;
 
+import com.laf.LostAndFound.config.LogSampler;
+import com.laf.LostAndFound.dto.FilteredReports;
+import com.laf.LostAndFound.dto.ReportFilter;
+import com.laf.LostAndFound.dto.ReportMatch;
+import com.laf.LostAndFound.dto.ReportPage;
+import com.laf.LostAndFound.dto.ReportStats;
+import com.laf.LostAndFound.dto.ReportSummary;
 import com.laf.LostAndFound.entity.UserReport;
+import com.laf.LostAndFound.events.ReportSavedEvent;
 import com.laf.LostAndFound.repository.UserReportRepository;
+import com.laf.LostAndFound.services.PhotoRenditionServices;
+import com.laf.LostAndFound.services.PhotoServices;
+import com.laf.LostAndFound.services.ReportMatchServices;
+import com.laf.LostAndFound.services.ReportStatsServices;
 import com.laf.LostAndFound.services.UserReportServices;
+import com.laf.LostAndFound.storage.PhotoHashing;
+import com.laf.LostAndFound.storage.StoredPhoto;
 import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.geo.Point;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.geo.GeoJsonPolygon;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.TreeMap;
 
 @RestController
 @CrossOrigin(origins = "*")
 @RequestMapping("/user-reports")
 public class UserReportController {
 
+    private static final Logger log = LoggerFactory.getLogger(UserReportController.class);
+
+    @Autowired
+    private LogSampler logSampler;
+
     @Autowired
     private UserReportServices userReportServices;
 
     @Autowired
     private UserReportRepository userReportRepository;
 
+    @Autowired
+    private PhotoServices photoServices;
+
+    @Autowired
+    private PhotoRenditionServices photoRenditionServices;
+
+    @Autowired
+    private ReportStatsServices reportStatsServices;
+
+    @Autowired
+    private ReportMatchServices reportMatchServices;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @PostMapping("/user-entry/{email}")
     public ResponseEntity<String> addEntry(@RequestBody UserReport userReport, @PathVariable String email) {
         if (userReport == null || email == null || email.trim().isEmpty()) {
             return ResponseEntity.badRequest().body("Invalid input: Email or report is missing");
         }
+        if (!UserReport.validCoordinates(userReport.getCoordinates())) {
+            return ResponseEntity.badRequest().body("Invalid coordinates");
+        }
 
         boolean added = userReportServices.addEntry(userReport, email);
 
@@ -41,45 +92,144 @@ public class UserReportController {
         }
     }
 
+    // Polled by every open home page, so a short shared cache plus revalidation keeps repeat reads to a 304
     @GetMapping("/latest")
-    public ResponseEntity<List<UserReport>> getLatestReports() {
-        List<UserReport> all = userReportRepository.findAll(Sort.by(Sort.Direction.DESC, "createdAt"));
-        List<UserReport> latest16 = all.stream().limit(16).collect(Collectors.toList());
-        System.out.println("Total reports in database: " + all.size());
-        System.out.println("Latest 16 reports: " + latest16.size());
+    public ResponseEntity<List<UserReport>> getLatestReports(WebRequest webRequest) {
+        List<UserReport> latest16 = userReportRepository.findTop16ByOrderByCreatedAtDescIdDesc();
+        if (logSampler.sample()) {
+            log.info("latest returned {} reports", latest16.size());
+        }
+        StringBuilder versions = new StringBuilder();
         for (UserReport report : latest16) {
-            System.out.println("Report: " + report.getItemName() + " by " + report.getEmail() + " at " + report.getCreatedAt());
+            versions.append(report.getId()).append(':')
+                    .append(ETags.lastModified(report.getUpdatedAt(), report.getCreatedAt())).append(',');
+        }
+        String etag = ETags.forContent(versions.toString());
+        CacheControl cacheControl = CacheControl.maxAge(10, TimeUnit.SECONDS).cachePublic();
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).varyBy(HttpHeaders.ACCEPT).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).varyBy(HttpHeaders.ACCEPT).body(latest16);
+    }
+
+    @GetMapping("/feed")
+    public ResponseEntity<?> getFeed(@RequestParam(required = false) String cursor,
+                                     @RequestParam(required = false) Integer limit) {
+        try {
+            ReportPage<ReportSummary> page = userReportServices.getFeed(cursor, limit);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Invalid cursor: " + cursor);
+        }
+    }
+
+    // Newest first, narrowed by any of the filters (including lng/lat/radiusKm for reports pinned nearby), with
+    // the number of matching reports and per-value counts of itemType, itemCategory and itemLocation among them;
+    // paged with the same cursor scheme as /feed
+    @GetMapping("/filter")
+    public ResponseEntity<?> getFiltered(ReportFilter filter,
+                                         @RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false) Integer limit) {
+        try {
+            FilteredReports reports = userReportServices.getFiltered(filter, cursor, limit);
+            return ResponseEntity.ok(reports);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Invalid filter or cursor: " + e.getMessage());
+        }
+    }
+
+    // Reports pinned within radiusKm of a point, nearest first, each with its distance in metres
+    @GetMapping("/near")
+    public ResponseEntity<?> getNearby(@RequestParam double lng,
+                                       @RequestParam double lat,
+                                       @RequestParam(required = false) Double radiusKm,
+                                       @RequestParam(required = false) String cursor,
+                                       @RequestParam(required = false) Integer limit) {
+        GeoJsonPoint point = new GeoJsonPoint(lng, lat);
+        if (!UserReport.validCoordinates(point)) {
+            return ResponseEntity.badRequest().body("Invalid coordinates");
+        }
+        double radius = radiusKm != null ? radiusKm * 1000 : UserReportServices.DEFAULT_RADIUS_METERS;
+        if (!(radius > 0) || radius > UserReportServices.MAX_RADIUS_METERS) {
+            return ResponseEntity.badRequest().body("radiusKm must be above 0 and at most "
+                    + (int) (UserReportServices.MAX_RADIUS_METERS / 1000));
+        }
+        try {
+            return ResponseEntity.ok(userReportServices.getNearby(point, radius, null, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Invalid cursor: " + cursor);
+        }
+    }
+
+    // Reports pinned inside a bounding box (not across the antimeridian), nearest to its centre first.
+    // Edges follow great circles, which for a campus-sized box is indistinguishable from the lat/lng lines.
+    @GetMapping("/within")
+    public ResponseEntity<?> getWithin(@RequestParam double minLng,
+                                       @RequestParam double minLat,
+                                       @RequestParam double maxLng,
+                                       @RequestParam double maxLat,
+                                       @RequestParam(required = false) String cursor,
+                                       @RequestParam(required = false) Integer limit) {
+        GeoJsonPoint southWest = new GeoJsonPoint(minLng, minLat);
+        GeoJsonPoint northEast = new GeoJsonPoint(maxLng, maxLat);
+        if (!UserReport.validCoordinates(southWest) || !UserReport.validCoordinates(northEast)
+                || !(minLng < maxLng) || !(minLat < maxLat)) {
+            return ResponseEntity.badRequest().body("Invalid bounding box");
+        }
+        GeoJsonPolygon box = new GeoJsonPolygon(new Point(minLng, minLat), new Point(maxLng, minLat),
+                new Point(maxLng, maxLat), new Point(minLng, maxLat), new Point(minLng, minLat));
+        GeoJsonPoint centre = new GeoJsonPoint((minLng + maxLng) / 2, (minLat + maxLat) / 2);
+        try {
+            return ResponseEntity.ok(userReportServices.getNearby(centre, null, box, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Invalid cursor: " + cursor);
         }
-        return ResponseEntity.ok(latest16);
     }
 
     @GetMapping("/all")
     public ResponseEntity<List<UserReport>> getAllReports() {
         List<UserReport> all = userReportRepository.findAll(Sort.by(Sort.Direction.DESC, "createdAt"));
-        System.out.println("All reports: " + all.size());
-        for (UserReport report : all) {
-            System.out.println("Report ID: " + report.getId() + ", Name: " + report.getItemName());
+        if (logSampler.sample()) {
+            log.info("all returned {} reports", all.size());
         }
         return ResponseEntity.ok(all);
     }
 
     @GetMapping("/item/{id}")
-    public ResponseEntity<UserReport> getItemById(@PathVariable String id) {
+    public ResponseEntity<UserReport> getItemById(@PathVariable String id, WebRequest webRequest) {
         try {
             ObjectId objectId = new ObjectId(id);
             Optional<UserReport> item = userReportRepository.findById(objectId);
-            return item.map(ResponseEntity::ok)
+            return item.map(report -> conditionalReport(report, webRequest))
                     .orElse(ResponseEntity.notFound().build());
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
+    // Reports of the opposite type (lost <-> found) that likely describe the same item, best first
+    @GetMapping("/matches/{id}")
+    public ResponseEntity<?> getMatches(@PathVariable String id) {
+        if (!ObjectId.isValid(id)) {
+            return ResponseEntity.badRequest().body("Invalid ID format: " + id);
+        }
+        try {
+            List<ReportMatch> matches = reportMatchServices.getMatches(id);
+            return ResponseEntity.ok(matches);
+        } catch (Exception e) {
+            log.error("Loading matches for report {} failed", id, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error retrieving matches");
+        }
+    }
+
     @PutMapping("/report-update/{id}")
     public ResponseEntity<String> updateReport(
             @PathVariable String id,
             @RequestBody UserReport updatedReport
     ) {
+        if (!ObjectId.isValid(id)) {
+            return ResponseEntity.badRequest().body("Invalid ID format: " + id);
+        }
         try {
             ObjectId objectId = new ObjectId(id);
             Optional<UserReport> optionalReport = userReportRepository.findById(objectId);
@@ -88,6 +238,7 @@ public class UserReportController {
             }
 
             UserReport existingReport = optionalReport.get();
+            UserReport before = ReportSavedEvent.snapshot(existingReport);
 
             // Update all fields
             existingReport.setItemName(updatedReport.getItemName());
@@ -98,42 +249,67 @@ public class UserReportController {
             existingReport.setItemType(updatedReport.getItemType());
             existingReport.setEmail(updatedReport.getEmail());
             existingReport.setPhone(updatedReport.getPhone());
+            // Older clients do not send coordinates; keep the pin unless a new one comes in
+            if (updatedReport.getCoordinates() != null) {
+                if (!UserReport.validCoordinates(updatedReport.getCoordinates())) {
+                    return ResponseEntity.badRequest().body("Invalid coordinates");
+                }
+                existingReport.setCoordinates(updatedReport.getCoordinates());
+            }
 
             // Only update image if a new one was provided
-            if (updatedReport.getItemPhoto() != null &&
-                    !updatedReport.getItemPhoto().isEmpty() &&
+            List<String> replacedPhotos = List.of();
+            if (photoServices.isInlinePhoto(updatedReport.getItemPhoto()) &&
                     !updatedReport.getItemPhoto().equals(existingReport.getItemPhoto())) {
-                existingReport.setItemPhoto(updatedReport.getItemPhoto());
+                // Bad base64, a malformed data URI or a non-image type
+                try {
+                    replacedPhotos = photoServices.attachInlinePhoto(existingReport, updatedReport.getItemPhoto());
+                } catch (IllegalArgumentException e) {
+                    return ResponseEntity.badRequest().body("Invalid photo: " + e.getMessage());
+                }
             }
 
             userReportRepository.save(existingReport);
+            photoServices.deleteReplaced(replacedPhotos);
+            eventPublisher.publishEvent(new ReportSavedEvent(before, existingReport));
             return ResponseEntity.ok("Report updated successfully");
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.badRequest().body("Invalid ID format: " + id);
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Updating report {} failed", id, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Update failed");
         }
     }
 
     @GetMapping("/report/{id}")
-    public ResponseEntity<?> getReportById(@PathVariable String id) {
+    public ResponseEntity<?> getReportById(@PathVariable String id, WebRequest webRequest) {
         try {
             ObjectId objectId = new ObjectId(id);
             Optional<UserReport> report = userReportRepository.findById(objectId);
             if (report.isPresent()) {
-                return ResponseEntity.ok(report.get());
+                return conditionalReport(report.get(), webRequest);
             } else {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Item not found");
             }
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body("Invalid ID format: " + id);
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Loading report {} failed", id, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error retrieving item");
         }
     }
 
+    // Reports can be edited at any time, so clients may store them but must revalidate before reuse
+    private static ResponseEntity<UserReport> conditionalReport(UserReport report, WebRequest webRequest) {
+        String etag = ETags.forDocument(report.getId(), report.getUpdatedAt(), report.getCreatedAt());
+        long lastModified = ETags.lastModified(report.getUpdatedAt(), report.getCreatedAt());
+        CacheControl cacheControl = CacheControl.noCache().cachePublic();
+        if (webRequest.checkNotModified(etag, lastModified)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).lastModified(lastModified)
+                    .cacheControl(cacheControl).varyBy(HttpHeaders.ACCEPT).build();
+        }
+        return ResponseEntity.ok().eTag(etag).lastModified(lastModified)
+                .cacheControl(cacheControl).varyBy(HttpHeaders.ACCEPT).body(report);
+    }
+
     @DeleteMapping("/items-delete/{id}")
     public ResponseEntity<String> deleteItem(@PathVariable String id) {
         try {
@@ -146,27 +322,104 @@ public class UserReportController {
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body("Invalid ID format: " + id);
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Deleting report {} failed", id, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Delete failed");
         }
     }
 
+    @PostMapping(value = "/{id}/photo", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> uploadPhoto(@PathVariable String id, @RequestParam("file") MultipartFile file) {
+        try {
+            return storePhoto(id, file.getBytes(), file.getContentType());
+        } catch (IOException e) {
+            log.error("Reading uploaded photo for report {} failed", id, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Photo upload failed");
+        }
+    }
+
+    @PostMapping(value = "/{id}/photo", consumes = {MediaType.IMAGE_JPEG_VALUE, MediaType.IMAGE_PNG_VALUE,
+            MediaType.IMAGE_GIF_VALUE, "image/webp", MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<?> uploadRawPhoto(@PathVariable String id, @RequestBody byte[] body,
+                                            @RequestHeader(value = "Content-Type", required = false) String contentType) {
+        return storePhoto(id, body, contentType);
+    }
+
+    private ResponseEntity<?> storePhoto(String id, byte[] data, String contentType) {
+        try {
+            if (data == null || data.length == 0) {
+                return ResponseEntity.badRequest().body("Photo is empty");
+            }
+            Optional<UserReport> optionalReport = userReportRepository.findById(new ObjectId(id));
+            if (optionalReport.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Report not found");
+            }
+            UserReport report = optionalReport.get();
+            List<String> replacedPhotos = photoServices.attachPhoto(report, data, contentType);
+            userReportRepository.save(report);
+            photoServices.deleteReplaced(replacedPhotos);
+            photoRenditionServices.ensureRenditions(report);
+            return ResponseEntity.ok(Map.of("photoUrl", report.getPhotoUrl()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            log.error("Storing photo for report {} failed", id, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Photo upload failed");
+        }
+    }
+
+    // Photo ids are content hashes, so the bytes behind a URL never change and can be cached forever.
+    // Range requests are handled by Spring for Resource bodies.
+    @GetMapping("/photo/{photoId}")
+    public ResponseEntity<Resource> getPhoto(@PathVariable String photoId, WebRequest webRequest) {
+        if (!PhotoHashing.isValidId(photoId)) {
+            return ResponseEntity.badRequest().build();
+        }
+        String etag = "\"" + photoId + "\"";
+        CacheControl cacheControl = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable();
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+        try {
+            Optional<StoredPhoto> photo = photoServices.load(photoId);
+            if (photo.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            StoredPhoto stored = photo.get();
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .cacheControl(cacheControl)
+                    .contentType(MediaType.parseMediaType(stored.getContentType()))
+                    .contentLength(stored.getLength())
+                    .body(stored.getContent());
+        } catch (IOException e) {
+            log.error("Loading photo {} failed", photoId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     @GetMapping("/category-stats")
-    public ResponseEntity<Map<String, Long>> getCategoryStatistics() {
+    public ResponseEntity<Map<String, Long>> getCategoryStatistics(WebRequest webRequest) {
+        try {
+            Map<String, Long> stats = reportStatsServices.getCategoryStats();
+            String etag = ETags.forContent(new TreeMap<>(stats).toString());
+            CacheControl cacheControl = CacheControl.maxAge(60, TimeUnit.SECONDS).cachePublic();
+            if (webRequest.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).varyBy(HttpHeaders.ACCEPT).build();
+            }
+            return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).varyBy(HttpHeaders.ACCEPT).body(stats);
+        } catch (Exception e) {
+            log.error("Loading category stats failed", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<ReportStats> getStatistics() {
         try {
-            List<UserReport> allReports = userReportRepository.findAll();
-            
-            Map<String, Long> categoryStats = allReports.stream()
-                .filter(report -> report.getItemCategory() != null && !report.getItemCategory().isEmpty())
-                .collect(Collectors.groupingBy(
-                    UserReport::getItemCategory,
-                    Collectors.counting()
-                ));
-            
-            return ResponseEntity.ok(categoryStats);
+            return ResponseEntity.ok(reportStatsServices.getStats());
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("Loading report stats failed", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,51 @@
+package com.laf.LostAndFound.controller;
+
+import com.laf.LostAndFound.entity.UserReport;
+import com.laf.LostAndFound.repository.UserReportReactiveRepository;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Streaming mirror of the UserReportController reads. Reports are written one by one as NDJSON
+// (application/x-ndjson) or Server-Sent Events (text/event-stream) as the Mongo cursor yields them,
+// so memory per request is bounded by STREAM_PREFETCH rather than by the collection size.
+@RestController
+@CrossOrigin(origins = "*")
+@RequestMapping("/user-reports/stream")
+public class UserReportStreamController {
+
+    // Documents requested from the cursor ahead of the client; refilled as the response is written
+    private static final int STREAM_PREFETCH = 256;
+
+    @Autowired
+    private UserReportReactiveRepository userReportReactiveRepository;
+
+    @GetMapping(value = "/all", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<UserReport> streamAllReports() {
+        return userReportReactiveRepository.findAllByOrderByCreatedAtDescIdDesc().limitRate(STREAM_PREFETCH);
+    }
+
+    @GetMapping(value = "/latest", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<UserReport> streamLatestReports() {
+        return userReportReactiveRepository.findTop16ByOrderByCreatedAtDescIdDesc();
+    }
+
+    @GetMapping(value = "/user/{email}", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<UserReport> streamUserReports(@PathVariable String email) {
+        return userReportReactiveRepository.findByEmailOrderByCreatedAtDescIdDesc(email).limitRate(STREAM_PREFETCH);
+    }
+
+    @GetMapping("/item/{id}")
+    public Mono<ResponseEntity<UserReport>> getItemById(@PathVariable String id) {
+        if (!ObjectId.isValid(id)) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        return userReportReactiveRepository.findById(new ObjectId(id))
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,20 @@
+package com.laf.LostAndFound.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+// One page of filtered reports plus counts over everything the filters match
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FilteredReports {
+    private List<ReportSummary> items;
+    private String nextCursor; // null when there are no more pages
+    private boolean hasMore;
+    private long total;
+    private Map<String, Map<String, Long>> facets; // itemType / itemCategory / itemLocation -> value -> count
+}
@@ -0,0 +1,15 @@
+package com.laf.LostAndFound.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportRowResult {
+    private int row; // 1-based line (NDJSON) or record (CSV, header excluded)
+    private String status; // created, duplicate, invalid or failed
+    private String id; // Set when created
+    private String message;
+}
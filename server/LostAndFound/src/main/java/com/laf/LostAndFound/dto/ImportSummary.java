@@ -0,0 +1,13 @@
+package com.laf.LostAndFound.dto;
+
+import lombok.Data;
+
+// Last line of a bulk import response
+@Data
+public class ImportSummary {
+    private int rows;
+    private int created;
+    private int duplicates;
+    private int invalid;
+    private int failed;
+}
@@ -0,0 +1,17 @@
+package com.laf.LostAndFound.dto;
+
+import lombok.Data;
+
+// Exact-match filters for /user-reports/filter; null means "any". Dates are inclusive yyyy-MM-dd bounds on itemDate.
+// lng/lat limit the listing to reports pinned within radiusKm of that point.
+@Data
+public class ReportFilter {
+    private String itemType;
+    private String itemCategory;
+    private String itemLocation;
+    private String dateFrom;
+    private String dateTo;
+    private Double lng;
+    private Double lat;
+    private Double radiusKm;
+}
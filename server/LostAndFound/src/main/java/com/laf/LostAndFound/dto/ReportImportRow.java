@@ -0,0 +1,22 @@
+package com.laf.LostAndFound.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+
+// One line of a bulk import (NDJSON object or CSV row with a header). Unknown columns are ignored so an
+// export file can be fed straight back in; the owner comes from the import path, not the row.
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ReportImportRow {
+    private String itemType;
+    private String itemName;
+    private String itemCategory;
+    private String itemLocation;
+    private String itemDate;
+    private String itemDescription;
+    private String itemPhoto; // base64 or data URI, as on /user-entry
+    private String phone;
+    // Optional pin; both or neither
+    private Double longitude;
+    private Double latitude;
+}
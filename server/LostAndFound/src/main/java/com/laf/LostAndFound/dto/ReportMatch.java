@@ -0,0 +1,12 @@
+package com.laf.LostAndFound.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// A candidate report of the opposite type (lost <-> found) and how well it matches, 0..1
+@Data
+@AllArgsConstructor
+public class ReportMatch {
+    private ReportSummary report;
+    private double score;
+}
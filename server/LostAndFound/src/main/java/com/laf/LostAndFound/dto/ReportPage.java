@@ -0,0 +1,16 @@
+package com.laf.LostAndFound.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReportPage<T> {
+    private List<T> items;
+    private String nextCursor; // null when there are no more pages
+    private boolean hasMore;
+}
@@ -0,0 +1,17 @@
+package com.laf.LostAndFound.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReportStats {
+    private long total;
+    private Map<String, Long> categories;
+    private Map<String, Long> types; // lost vs found
+    private Map<String, Long> locations;
+}
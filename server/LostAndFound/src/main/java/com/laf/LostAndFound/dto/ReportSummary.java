@@ -0,0 +1,48 @@
+package com.laf.LostAndFound.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.laf.LostAndFound.entity.UserReport;
+import lombok.Data;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+
+import java.util.Date;
+
+// Lightweight view of a UserReport for list pages: no itemPhoto, no itemDescription
+@Data
+public class ReportSummary {
+    private ObjectId id;
+    private String itemType;
+    private String itemName;
+    private String itemCategory;
+    private String itemLocation;
+    private String itemDate;
+    private String email;
+    private String phone;
+    private String photoId;
+    private String thumbnailId;
+    private String mediumId;
+    private GeoJsonPoint coordinates;
+    private Date createdAt;
+    private Double distance; // Metres from the query point; only on /near and /within results
+
+    @JsonProperty("_id")
+    public String getId() {
+        return id != null ? id.toHexString() : null;
+    }
+
+    @JsonProperty("photoUrl")
+    public String getPhotoUrl() {
+        return photoId != null ? UserReport.PHOTO_URL_PREFIX + photoId : null;
+    }
+
+    @JsonProperty("thumbnailUrl")
+    public String getThumbnailUrl() {
+        return thumbnailId != null ? UserReport.PHOTO_URL_PREFIX + thumbnailId : null;
+    }
+
+    @JsonProperty("mediumUrl")
+    public String getMediumUrl() {
+        return mediumId != null ? UserReport.PHOTO_URL_PREFIX + mediumId : null;
+    }
+}
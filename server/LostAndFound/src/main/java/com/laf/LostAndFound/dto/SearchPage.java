@@ -0,0 +1,17 @@
+package com.laf.LostAndFound.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SearchPage<T> {
+    private List<T> items;
+    private int page;
+    private int size;
+    private long total;
+}
@@ -1,17 +1,14 @@
 package com.laf.LostAndFound.entity;
 
-import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
 import org.bson.types.ObjectId;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.mongodb.core.index.Indexed;
-import org.springframework.data.mongodb.core.mapping.DBRef;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
 
 @Data
 @Document(collection = "users")
@@ -28,9 +25,8 @@ public class User {
     @CreatedDate
     private LocalDateTime createdAt;
 
-    @DBRef
-    @JsonIgnore
-    private List<UserReport> userReports = new ArrayList<>();
+    @LastModifiedDate
+    private LocalDateTime updatedAt;
 
     public String getId() {
         return id != null ? id.toHexString() : null;
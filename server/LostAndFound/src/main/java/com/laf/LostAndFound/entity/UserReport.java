@@ -1,17 +1,41 @@
 package com.laf.LostAndFound.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
 import org.bson.types.ObjectId;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexType;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexed;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.Date;
 
 @Data
 @Document(collection = "userReports")
+// Backs the createdAt/_id keyset feed and the /latest sort
+@CompoundIndex(name = "createdAt_id_desc", def = "{'createdAt': -1, '_id': -1}")
+// Per-owner duplicate check
+@CompoundIndex(name = "email_dedupeKey", def = "{'email': 1, 'dedupeKey': 1}")
+// Owner's history, newest first (findByEmail, the /user/{email} stream)
+@CompoundIndex(name = "email_createdAt_id_desc", def = "{'email': 1, 'createdAt': -1, '_id': -1}")
+// /filter: each equality filter with the itemDate range after it, and the range alone. Any filter combination
+// is narrowed by one of these; the page order is a top-k sort over the matches (see findFiltered).
+@CompoundIndex(name = "itemDate", def = "{'itemDate': 1}")
+@CompoundIndex(name = "itemType_itemDate", def = "{'itemType': 1, 'itemDate': 1}")
+@CompoundIndex(name = "itemCategory_itemDate", def = "{'itemCategory': 1, 'itemDate': 1}")
+@CompoundIndex(name = "itemLocation_itemDate", def = "{'itemLocation': 1, 'itemDate': 1}")
 public class UserReport {
+    public static final String PHOTO_URL_PREFIX = "/user-reports/photo/";
+    // WGS84 equatorial radius; Spring Data's Metrics.KILOMETERS uses the same, so a metric with this multiplier
+    // is exactly metres. Shared by /near (UserReportRepositoryImpl) and match proximity (ReportMatchEngine).
+    public static final double EARTH_RADIUS_METRES = 6_378_137;
+
     @Id
     private ObjectId id;
     private String itemType;
@@ -20,15 +44,64 @@ public class UserReport {
     private String itemLocation;
     private String itemDate;
     private String itemDescription;
-    private String itemPhoto; // This stores the base64 string
-    private String email;
+    private String itemPhoto; // Legacy inline base64; moved to the photo store on write
+    @Indexed(sparse = true)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private String photoId; // Content hash of the photo in the photo store
+    // thumbnailId/mediumId are indexed for the "is this blob still referenced" $or in PhotoServices
+    @Indexed(sparse = true)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private String thumbnailId;
+    @Indexed(sparse = true)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private String mediumId;
+    private String email; // Owner of the report, always lower-case
     private String phone;
 
+    // Optional pin for itemLocation, GeoJSON {"type": "Point", "coordinates": [longitude, latitude]}
+    @GeoSpatialIndexed(type = GeoSpatialIndexType.GEO_2DSPHERE)
+    private GeoJsonPoint coordinates;
+
+    // Lower-cased name|category|location|date, maintained on save; null when any part is missing
+    @JsonIgnore
+    private String dedupeKey;
+
     @CreatedDate
     private Date createdAt;
 
+    // Set on every save; direct updates must bump it too, since it drives the ETag/Last-Modified headers
+    @LastModifiedDate
+    private Date updatedAt;
+
+    public static String dedupeKeyOf(String itemName, String itemCategory, String itemLocation, String itemDate) {
+        if (itemName == null || itemCategory == null || itemLocation == null || itemDate == null) {
+            return null;
+        }
+        return String.join("|", itemName.toLowerCase(), itemCategory.toLowerCase(), itemLocation.toLowerCase(), itemDate);
+    }
+
+    // A 2dsphere index rejects the whole write for an out-of-range point, so callers check first; null is fine
+    public static boolean validCoordinates(GeoJsonPoint point) {
+        return point == null || (point.getX() >= -180 && point.getX() <= 180 && point.getY() >= -90 && point.getY() <= 90);
+    }
+
     @JsonProperty("_id")
     public String getId() {
         return id != null ? id.toHexString() : null;
     }
+
+    @JsonProperty("photoUrl")
+    public String getPhotoUrl() {
+        return photoId != null ? PHOTO_URL_PREFIX + photoId : null;
+    }
+
+    @JsonProperty("thumbnailUrl")
+    public String getThumbnailUrl() {
+        return thumbnailId != null ? PHOTO_URL_PREFIX + thumbnailId : null;
+    }
+
+    @JsonProperty("mediumUrl")
+    public String getMediumUrl() {
+        return mediumId != null ? PHOTO_URL_PREFIX + mediumId : null;
+    }
 }
\ No newline at end of file
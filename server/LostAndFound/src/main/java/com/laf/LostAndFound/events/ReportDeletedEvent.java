@@ -0,0 +1,12 @@
+package com.laf.LostAndFound.events;
+
+import com.laf.LostAndFound.entity.UserReport;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Published after a report is removed from Mongo; carries the report as it was
+@Getter
+@AllArgsConstructor
+public class ReportDeletedEvent {
+    private final UserReport report;
+}
@@ -0,0 +1,31 @@
+package com.laf.LostAndFound.events;
+
+import com.laf.LostAndFound.entity.UserReport;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Published after a report is written to Mongo. Renditions, the search index, matches, live notifications
+// and stats all listen for it, so a new write path only has to publish. before is null for a new report.
+@Getter
+@AllArgsConstructor
+public class ReportSavedEvent {
+    private final UserReport before;
+    private final UserReport report;
+
+    public static ReportSavedEvent created(UserReport report) {
+        return new ReportSavedEvent(null, report);
+    }
+
+    public boolean isCreated() {
+        return before == null;
+    }
+
+    // Detached copy of the fields listeners compare, taken before an update mutates the report
+    public static UserReport snapshot(UserReport report) {
+        UserReport copy = new UserReport();
+        copy.setItemCategory(report.getItemCategory());
+        copy.setItemType(report.getItemType());
+        copy.setItemLocation(report.getItemLocation());
+        return copy;
+    }
+}
@@ -0,0 +1,11 @@
+package com.laf.LostAndFound.matching;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class MatchCandidate {
+    private String reportId; // report of the opposite type
+    private double score;    // 0..1, higher is a better match
+}
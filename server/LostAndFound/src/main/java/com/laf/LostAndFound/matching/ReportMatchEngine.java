@@ -0,0 +1,373 @@
+package com.laf.LostAndFound.matching;
+
+import com.laf.LostAndFound.entity.UserReport;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+// In-memory pairing of "lost" reports with "found" reports (and back).
+// Candidates must share a category and, when both dates are known, be within the date window of each other;
+// they are then scored on item name, description, location (place name, or pin distance when both have
+// coordinates) and date distance. Every report keeps its best
+// candidates, so reading matches is a map lookup. Mongo stays the source of truth; rebuilt on startup.
+@Component
+public class ReportMatchEngine {
+
+    static final String LOST = "lost";
+    static final String FOUND = "found";
+
+    private static final double NAME_WEIGHT = 0.5;
+    private static final double DESCRIPTION_WEIGHT = 0.15;
+    private static final double LOCATION_WEIGHT = 0.2;
+    private static final double DATE_WEIGHT = 0.15;
+
+    private static final Set<String> STOP_WORDS = Set.of("the", "and", "with", "was", "for", "near", "has", "have",
+            "this", "that", "from", "lost", "found", "item", "color", "colour");
+
+    private final int dateWindowDays;
+    private final int maxCandidates;
+    private final double minScore;
+    private final double proximityMeters;
+
+    // Swapped whole by replaceAll; every other access holds the engine's lock
+    private Index index = new Index();
+    // Non-null while replaceAll builds a new index: writes made meanwhile, to be replayed onto it
+    private List<Consumer<Index>> replay;
+    private volatile boolean ready;
+
+    private static final LocalDate UNDATED = LocalDate.MIN;
+
+    public ReportMatchEngine(@Value("${matching.date-window-days:14}") int dateWindowDays,
+                             @Value("${matching.max-candidates:10}") int maxCandidates,
+                             @Value("${matching.min-score:0.35}") double minScore,
+                             @Value("${matching.proximity-meters:1000}") double proximityMeters) {
+        this.dateWindowDays = dateWindowDays;
+        this.maxCandidates = maxCandidates;
+        this.minScore = minScore;
+        this.proximityMeters = proximityMeters;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // Reading every report takes minutes at 1M reports, so the new index is built without the lock;
+    // saves and deletes keep going to the current index and are replayed onto the new one before the swap
+    public void replaceAll(Iterable<UserReport> reports) {
+        synchronized (this) {
+            replay = new ArrayList<>();
+        }
+        Index built = new Index();
+        try {
+            for (UserReport report : reports) {
+                Entry entry = Entry.of(report);
+                if (entry != null) {
+                    built.add(entry);
+                }
+            }
+            // Scoring is symmetric, so evaluating the lost side fills in the found side as well
+            for (Entry entry : built.entries.values()) {
+                if (LOST.equals(entry.type)) {
+                    for (MatchCandidate candidate : built.evaluate(entry)) {
+                        built.offer(entry.id, candidate.getReportId(), candidate.getScore());
+                        built.offer(candidate.getReportId(), entry.id, candidate.getScore());
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                replay = null;
+            }
+            throw e;
+        }
+        synchronized (this) {
+            for (Consumer<Index> write : replay) {
+                write.accept(built);
+            }
+            replay = null;
+            index = built;
+            ready = true;
+        }
+    }
+
+    // Adds or replaces a report and returns its ranked candidates
+    public synchronized List<MatchCandidate> upsert(UserReport report) {
+        if (report == null || report.getId() == null) return Collections.emptyList();
+        if (replay != null) {
+            replay.add(building -> building.upsert(report));
+        }
+        return index.upsert(report);
+    }
+
+    public synchronized void remove(String id) {
+        if (replay != null) {
+            replay.add(building -> building.remove(id));
+        }
+        index.remove(id);
+    }
+
+    public synchronized List<MatchCandidate> matchesFor(String id) {
+        List<MatchCandidate> ranked = index.matches.get(id);
+        return ranked == null ? Collections.emptyList() : new ArrayList<>(ranked);
+    }
+
+    // Candidate lists are not symmetric: a report whose list is full of better matches does not list a
+    // candidate that lists it. listedBy is the reverse of matches so a removal reaches every list holding the id.
+    private final class Index {
+        final Map<String, Entry> entries = new HashMap<>();
+        // type -> category -> date -> report ids; reports without a usable date sit under UNDATED
+        final Map<String, Map<String, NavigableMap<LocalDate, Set<String>>>> buckets = new HashMap<>();
+        final Map<String, List<MatchCandidate>> matches = new HashMap<>();
+        final Map<String, Set<String>> listedBy = new HashMap<>();
+
+        List<MatchCandidate> upsert(UserReport report) {
+            remove(report.getId());
+            Entry entry = Entry.of(report);
+            if (entry == null) return Collections.emptyList();
+            add(entry);
+            for (MatchCandidate candidate : evaluate(entry)) {
+                offer(entry.id, candidate.getReportId(), candidate.getScore());
+                offer(candidate.getReportId(), entry.id, candidate.getScore());
+            }
+            List<MatchCandidate> ranked = matches.get(entry.id);
+            return ranked == null ? Collections.emptyList() : new ArrayList<>(ranked);
+        }
+
+        void remove(String id) {
+            Entry old = entries.remove(id);
+            if (old == null) return;
+            Set<String> ids = bucket(old.type, old.category).get(old.dateKey());
+            if (ids != null) {
+                ids.remove(id);
+            }
+            setMatches(id, Collections.emptyList());
+            Set<String> listers = listedBy.remove(id);
+            if (listers == null) return;
+            // Reports that listed this one lose a slot; re-rank them so a weaker candidate can move up
+            for (String listerId : new ArrayList<>(listers)) {
+                Entry lister = entries.get(listerId);
+                if (lister != null) {
+                    setMatches(listerId, evaluate(lister));
+                }
+            }
+        }
+
+        void add(Entry entry) {
+            entries.put(entry.id, entry);
+            bucket(entry.type, entry.category).computeIfAbsent(entry.dateKey(), d -> new LinkedHashSet<>()).add(entry.id);
+        }
+
+        NavigableMap<LocalDate, Set<String>> bucket(String type, String category) {
+            return buckets.computeIfAbsent(type, t -> new HashMap<>()).computeIfAbsent(category, c -> new TreeMap<>());
+        }
+
+        List<MatchCandidate> evaluate(Entry entry) {
+            NavigableMap<LocalDate, Set<String>> opposite = bucket(entry.oppositeType(), entry.category);
+            List<Set<String>> pools = new ArrayList<>();
+            if (entry.date == null) {
+                pools.addAll(opposite.values());
+            } else {
+                pools.addAll(opposite.subMap(entry.date.minusDays(dateWindowDays), true,
+                        entry.date.plusDays(dateWindowDays), true).values());
+                Set<String> undated = opposite.get(UNDATED);
+                if (undated != null) pools.add(undated);
+            }
+            List<MatchCandidate> ranked = new ArrayList<>();
+            for (Set<String> pool : pools) {
+                for (String otherId : pool) {
+                    Entry other = entries.get(otherId);
+                    double score = score(entry, other);
+                    if (score >= minScore) {
+                        ranked.add(new MatchCandidate(otherId, score));
+                    }
+                }
+            }
+            ranked.sort((a, b) -> Double.compare(b.getScore(), a.getScore()));
+            return ranked.size() > maxCandidates ? ranked.subList(0, maxCandidates) : ranked;
+        }
+
+        // Inserts the candidate into the report's ranked list, keeping at most maxCandidates
+        void offer(String reportId, String candidateId, double score) {
+            List<MatchCandidate> ranked = matches.computeIfAbsent(reportId, id -> new ArrayList<>());
+            if (ranked.removeIf(existing -> existing.getReportId().equals(candidateId))) {
+                unlist(reportId, candidateId);
+            }
+            int position = 0;
+            while (position < ranked.size() && ranked.get(position).getScore() >= score) {
+                position++;
+            }
+            if (position >= maxCandidates) return;
+            ranked.add(position, new MatchCandidate(candidateId, score));
+            listedBy.computeIfAbsent(candidateId, id -> new HashSet<>()).add(reportId);
+            if (ranked.size() > maxCandidates) {
+                unlist(reportId, ranked.remove(ranked.size() - 1).getReportId());
+            }
+        }
+
+        void setMatches(String reportId, List<MatchCandidate> ranked) {
+            List<MatchCandidate> old = ranked.isEmpty() ? matches.remove(reportId) : matches.put(reportId, new ArrayList<>(ranked));
+            if (old != null) {
+                for (MatchCandidate candidate : old) {
+                    unlist(reportId, candidate.getReportId());
+                }
+            }
+            for (MatchCandidate candidate : ranked) {
+                listedBy.computeIfAbsent(candidate.getReportId(), id -> new HashSet<>()).add(reportId);
+            }
+        }
+
+        void unlist(String reportId, String candidateId) {
+            Set<String> listers = listedBy.get(candidateId);
+            if (listers != null && listers.remove(reportId) && listers.isEmpty()) {
+                listedBy.remove(candidateId);
+            }
+        }
+    }
+
+    double score(Entry a, Entry b) {
+        double name = dice(a.nameTrigrams, b.nameTrigrams);
+        if (name == 0) return 0;
+        double description = jaccard(a.descriptionTokens, b.descriptionTokens);
+        double location = a.location.equals(b.location) && !a.location.isEmpty()
+                ? 1.0 : jaccard(a.locationTokens, b.locationTokens);
+        if (a.pinned && b.pinned) {
+            // "Library" and "north entrance" can be 50 m apart; pins close together count as the same place
+            location = Math.max(location, Math.max(0, 1.0 - metresBetween(a, b) / proximityMeters));
+        }
+        double date = 0.5;
+        if (a.date != null && b.date != null) {
+            long days = Math.abs(ChronoUnit.DAYS.between(a.date, b.date));
+            date = Math.max(0, 1.0 - (double) days / (dateWindowDays + 1));
+        }
+        double score = NAME_WEIGHT * name + DESCRIPTION_WEIGHT * description + LOCATION_WEIGHT * location + DATE_WEIGHT * date;
+        return Math.round(score * 1000) / 1000.0;
+    }
+
+    // Haversine on a spherical Earth, as 2dsphere uses
+    static double metresBetween(Entry a, Entry b) {
+        double dLat = Math.toRadians(b.latitude - a.latitude);
+        double dLng = Math.toRadians(b.longitude - a.longitude);
+        double h = Math.sin(dLat / 2) * Math.sin(dLat / 2) + Math.cos(Math.toRadians(a.latitude))
+                * Math.cos(Math.toRadians(b.latitude)) * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * UserReport.EARTH_RADIUS_METRES * Math.asin(Math.min(1, Math.sqrt(h)));
+    }
+
+    private static double dice(Set<String> a, Set<String> b) {
+        if (a.isEmpty() || b.isEmpty()) return 0;
+        return 2.0 * intersection(a, b) / (a.size() + b.size());
+    }
+
+    private static double jaccard(Set<String> a, Set<String> b) {
+        if (a.isEmpty() || b.isEmpty()) return 0;
+        int shared = intersection(a, b);
+        return (double) shared / (a.size() + b.size() - shared);
+    }
+
+    private static int intersection(Set<String> a, Set<String> b) {
+        Set<String> small = a.size() <= b.size() ? a : b;
+        Set<String> large = small == a ? b : a;
+        int shared = 0;
+        for (String value : small) {
+            if (large.contains(value)) shared++;
+        }
+        return shared;
+    }
+
+    static final class Entry {
+        final String id;
+        final String type;
+        final String category;
+        final String location;
+        final LocalDate date;
+        final Set<String> nameTrigrams;
+        final Set<String> descriptionTokens;
+        final Set<String> locationTokens;
+        final boolean pinned;
+        final double longitude;
+        final double latitude;
+
+        private Entry(UserReport report, String type) {
+            this.id = report.getId();
+            this.type = type;
+            this.category = normalize(report.getItemCategory());
+            this.location = normalize(report.getItemLocation());
+            this.date = parseDate(report.getItemDate());
+            this.nameTrigrams = trigrams(report.getItemName());
+            this.descriptionTokens = tokens(report.getItemDescription());
+            this.locationTokens = tokens(report.getItemLocation());
+            this.pinned = report.getCoordinates() != null;
+            this.longitude = pinned ? report.getCoordinates().getX() : 0;
+            this.latitude = pinned ? report.getCoordinates().getY() : 0;
+        }
+
+        // Only lost/found reports with an id take part in matching
+        static Entry of(UserReport report) {
+            if (report == null || report.getId() == null) return null;
+            String type = normalize(report.getItemType());
+            if (!LOST.equals(type) && !FOUND.equals(type)) return null;
+            return new Entry(report, type);
+        }
+
+        String oppositeType() {
+            return LOST.equals(type) ? FOUND : LOST;
+        }
+
+        LocalDate dateKey() {
+            return date != null ? date : UNDATED;
+        }
+
+        private static String normalize(String value) {
+            return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+        }
+
+        // itemDate is "yyyy-MM-dd", sometimes with a time part
+        private static LocalDate parseDate(String value) {
+            if (value == null || value.length() < 10) return null;
+            try {
+                return LocalDate.parse(value.substring(0, 10));
+            } catch (DateTimeParseException e) {
+                return null;
+            }
+        }
+
+        // Character trigrams of the name with spaces removed, so "i phone13" still matches "iPhone 13"
+        private static Set<String> trigrams(String value) {
+            String compact = normalize(value).replaceAll("[^\\p{L}\\p{N}]", "");
+            Set<String> grams = new HashSet<>();
+            if (compact.isEmpty()) return grams;
+            if (compact.length() < 3) {
+                grams.add(compact);
+                return grams;
+            }
+            for (int i = 0; i + 3 <= compact.length(); i++) {
+                grams.add(compact.substring(i, i + 3));
+            }
+            return grams;
+        }
+
+        private static Set<String> tokens(String value) {
+            Set<String> tokens = new HashSet<>();
+            for (String token : normalize(value).split("[^\\p{L}\\p{N}]+")) {
+                if (token.length() >= 3 && !STOP_WORDS.contains(token)) {
+                    tokens.add(token);
+                }
+            }
+            return tokens;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.laf.LostAndFound.notifications;
+
+import java.io.IOException;
+
+// One connected client. Implementations write to the connection (SSE in NotificationController).
+public interface EventSink {
+
+    void send(String eventName, String data) throws IOException;
+
+    // Keep-alive that carries no event, so idle proxies do not drop the connection
+    void ping() throws IOException;
+
+    void close();
+}
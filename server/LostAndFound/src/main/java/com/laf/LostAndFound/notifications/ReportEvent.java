@@ -0,0 +1,18 @@
+package com.laf.LostAndFound.notifications;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Set;
+
+// A pre-serialized event. categories/locations are lower-case and drive subscription filters
+// (an update carries both the old and new values); recipientEmail restricts delivery to one user.
+@Data
+@AllArgsConstructor
+public class ReportEvent {
+    private String name;
+    private Set<String> categories;
+    private Set<String> locations;
+    private String recipientEmail;
+    private String data;
+}
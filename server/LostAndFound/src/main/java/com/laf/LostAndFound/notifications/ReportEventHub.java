@@ -0,0 +1,175 @@
+package com.laf.LostAndFound.notifications;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Fans report events out to connected clients. Subscribers are spread over a few single-threaded lanes:
+// each lane delivers in publish order, and a client with a full socket buffer only delays its own lane.
+// Idle connections cost no thread (SSE runs on async servlet requests), only a map entry.
+@Component
+public class ReportEventHub {
+
+    private final List<Lane> lanes = new ArrayList<>();
+    private final AtomicInteger nextLane = new AtomicInteger();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final int maxSubscribers;
+
+    private final Timer deliveryTimer;
+    private final Counter dropped;
+
+    public ReportEventHub(MeterRegistry meterRegistry,
+                          @Value("${notifications.lanes:4}") int laneCount,
+                          @Value("${notifications.lane-queue:1000}") int laneQueue,
+                          @Value("${notifications.max-subscribers:10000}") int maxSubscribers) {
+        this.maxSubscribers = maxSubscribers;
+        this.deliveryTimer = Timer.builder("notifications.delivery")
+                .description("Time from publish until every subscriber in a lane has been written to")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.dropped = Counter.builder("notifications.dropped")
+                .description("Events not delivered because a lane's queue was full")
+                .register(meterRegistry);
+        for (int i = 0; i < Math.max(1, laneCount); i++) {
+            lanes.add(new Lane(i, laneQueue));
+        }
+        Gauge.builder("notifications.subscribers", subscriberCount, AtomicInteger::get)
+                .register(meterRegistry);
+    }
+
+    // Returns null when the server is at notifications.max-subscribers
+    public Subscription subscribe(SubscriptionFilter filter, EventSink sink) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            return null;
+        }
+        Lane lane = lanes.get(Math.floorMod(nextLane.getAndIncrement(), lanes.size()));
+        Subscription subscription = new Subscription(filter, sink, lane);
+        lane.subscriptions.add(subscription);
+        return subscription;
+    }
+
+    public void unsubscribe(Subscription subscription) {
+        if (subscription != null && subscription.lane.subscriptions.remove(subscription)) {
+            subscriberCount.decrementAndGet();
+        }
+    }
+
+    public int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    // True if some connected user would receive events addressed to them (skips the owner lookup otherwise)
+    public boolean hasUserSubscribers() {
+        for (Lane lane : lanes) {
+            for (Subscription subscription : lane.subscriptions) {
+                if (subscription.filter.getEmail() != null) return true;
+            }
+        }
+        return false;
+    }
+
+    public void publish(ReportEvent event) {
+        long publishedAt = System.nanoTime();
+        for (Lane lane : lanes) {
+            if (lane.subscriptions.isEmpty()) continue;
+            lane.submit(() -> {
+                for (Subscription subscription : lane.subscriptions) {
+                    if (subscription.filter.accepts(event)) {
+                        try {
+                            subscription.sink.send(event.getName(), event.getData());
+                        } catch (Exception e) {
+                            drop(subscription);
+                        }
+                    }
+                }
+                deliveryTimer.record(System.nanoTime() - publishedAt, TimeUnit.NANOSECONDS);
+            });
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.heartbeat-ms:25000}")
+    public void heartbeat() {
+        for (Lane lane : lanes) {
+            if (lane.subscriptions.isEmpty()) continue;
+            lane.submit(() -> {
+                for (Subscription subscription : lane.subscriptions) {
+                    try {
+                        subscription.sink.ping();
+                    } catch (Exception e) {
+                        drop(subscription);
+                    }
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Lane lane : lanes) {
+            lane.executor.shutdownNow();
+            for (Subscription subscription : lane.subscriptions) {
+                subscription.sink.close();
+            }
+            lane.subscriptions.clear();
+        }
+        subscriberCount.set(0);
+    }
+
+    private void drop(Subscription subscription) {
+        unsubscribe(subscription);
+        subscription.sink.close();
+    }
+
+    public static final class Subscription {
+        private final SubscriptionFilter filter;
+        private final EventSink sink;
+        private final Lane lane;
+
+        private Subscription(SubscriptionFilter filter, EventSink sink, Lane lane) {
+            this.filter = filter;
+            this.sink = sink;
+            this.lane = lane;
+        }
+    }
+
+    private final class Lane {
+        private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+        private final ThreadPoolExecutor executor;
+
+        private Lane(int index, int queueCapacity) {
+            this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "notify-lane-" + index);
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    new ThreadPoolExecutor.AbortPolicy());
+        }
+
+        private void submit(Runnable task) {
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                // Clients resync on reconnect; losing an event beats unbounded memory
+                dropped.increment();
+            }
+        }
+    }
+}
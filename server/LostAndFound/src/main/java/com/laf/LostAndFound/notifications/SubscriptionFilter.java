@@ -0,0 +1,45 @@
+package com.laf.LostAndFound.notifications;
+
+import lombok.Data;
+
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Empty category/location sets mean "everything"; email is set for signed-in users and receives their matches
+@Data
+public class SubscriptionFilter {
+    private final Set<String> categories;
+    private final Set<String> locations;
+    private final String email;
+
+    public SubscriptionFilter(Set<String> categories, Set<String> locations, String email) {
+        this.categories = normalize(categories);
+        this.locations = normalize(locations);
+        this.email = email != null ? email.toLowerCase(Locale.ROOT) : null;
+    }
+
+    public boolean accepts(ReportEvent event) {
+        if (event.getRecipientEmail() != null) {
+            return event.getRecipientEmail().equals(email);
+        }
+        return overlaps(categories, event.getCategories()) && overlaps(locations, event.getLocations());
+    }
+
+    private static boolean overlaps(Set<String> wanted, Set<String> actual) {
+        if (wanted.isEmpty()) return true;
+        for (String value : actual) {
+            if (wanted.contains(value)) return true;
+        }
+        return false;
+    }
+
+    private static Set<String> normalize(Set<String> values) {
+        if (values == null) return Collections.emptySet();
+        return values.stream()
+                .filter(value -> value != null && !value.isBlank())
+                .map(value -> value.trim().toLowerCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+}
@@ -0,0 +1,17 @@
+package com.laf.LostAndFound.repository;
+
+import com.laf.LostAndFound.entity.UserReport;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertCallback;
+import org.springframework.stereotype.Component;
+
+// Keeps dedupeKey in step with the report fields on every save, whichever code path does the save
+@Component
+public class UserReportDedupeKeyCallback implements BeforeConvertCallback<UserReport> {
+
+    @Override
+    public UserReport onBeforeConvert(UserReport report, String collection) {
+        report.setDedupeKey(UserReport.dedupeKeyOf(
+                report.getItemName(), report.getItemCategory(), report.getItemLocation(), report.getItemDate()));
+        return report;
+    }
+}
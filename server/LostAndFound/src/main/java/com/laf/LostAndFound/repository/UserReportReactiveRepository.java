@@ -0,0 +1,13 @@
+package com.laf.LostAndFound.repository;
+
+import com.laf.LostAndFound.entity.UserReport;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+
+// Read-only streaming access for UserReportStreamController; writes still go through UserReportRepository
+public interface UserReportReactiveRepository extends ReactiveMongoRepository<UserReport, ObjectId> {
+    Flux<UserReport> findAllByOrderByCreatedAtDescIdDesc();
+    Flux<UserReport> findTop16ByOrderByCreatedAtDescIdDesc();
+    Flux<UserReport> findByEmailOrderByCreatedAtDescIdDesc(String email);
+}
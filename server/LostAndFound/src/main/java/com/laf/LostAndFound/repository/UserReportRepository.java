@@ -7,8 +7,10 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import java.util.List;
 import java.util.Optional;
 
-public interface UserReportRepository extends MongoRepository<UserReport, ObjectId> {
+public interface UserReportRepository extends MongoRepository<UserReport, ObjectId>, UserReportRepositoryCustom {
     List<UserReport> findByItemNameContainingIgnoreCase(String itemName);
     List<UserReport> findByEmail(String email);
+    boolean existsByEmailAndDedupeKey(String email, String dedupeKey);
     Optional<UserReport> findById(ObjectId id);
+    List<UserReport> findTop16ByOrderByCreatedAtDescIdDesc();
 }
@@ -0,0 +1,30 @@
+package com.laf.LostAndFound.repository;
+
+import com.laf.LostAndFound.dto.FilteredReports;
+import com.laf.LostAndFound.dto.ReportFilter;
+import com.laf.LostAndFound.dto.ReportSummary;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.geo.GeoJsonPolygon;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+public interface UserReportRepositoryCustom {
+    // Keyset page ordered by createdAt desc, _id desc. Pass null/null for the first page.
+    List<ReportSummary> findSummariesBefore(Date createdAt, ObjectId id, int limit);
+
+    // Reports with coordinates, nearest first, each with its distance in metres. minDistance and skip page
+    // through the results (skip only steps over reports at exactly minDistance); maxDistance and within
+    // are optional limits.
+    List<ReportSummary> findSummariesNear(GeoJsonPoint point, double minDistance, Double maxDistance,
+                                          GeoJsonPolygon within, int skip, int limit);
+
+    // Keyset page like findSummariesBefore over the reports matching filter, plus the match count and
+    // per-field value counts for all of them, from one aggregation. nextCursor/hasMore are left to the caller.
+    FilteredReports findFiltered(ReportFilter filter, Date createdAt, ObjectId id, int limit);
+
+    // Summaries for the given ids, in no particular order
+    List<ReportSummary> findSummariesByIds(Collection<ObjectId> ids);
+}
@@ -0,0 +1,168 @@
+package com.laf.LostAndFound.repository;
+
+import com.laf.LostAndFound.dto.FilteredReports;
+import com.laf.LostAndFound.dto.ReportFilter;
+import com.laf.LostAndFound.dto.ReportSummary;
+import com.laf.LostAndFound.entity.UserReport;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.geo.Circle;
+import org.springframework.data.geo.CustomMetric;
+import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.Metric;
+import org.springframework.data.geo.Point;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.geo.GeoJsonPolygon;
+import org.springframework.data.mongodb.core.query.NearQuery;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class UserReportRepositoryImpl implements UserReportRepositoryCustom {
+
+    private static final Metric METRES = new CustomMetric(UserReport.EARTH_RADIUS_METRES, "m");
+    // Locations are free text, so their facet is cut to the most common values
+    private static final int FACET_LIMIT = 50;
+    private static final String[] SUMMARY_FIELDS = {"itemType", "itemName", "itemCategory", "itemLocation", "itemDate",
+            "email", "phone", "photoId", "thumbnailId", "mediumId", "coordinates", "createdAt"};
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public List<ReportSummary> findSummariesBefore(Date createdAt, ObjectId id, int limit) {
+        Query query = new Query();
+        if (createdAt != null && id != null) {
+            query.addCriteria(new Criteria().orOperator(
+                    Criteria.where("createdAt").lt(createdAt),
+                    Criteria.where("createdAt").is(createdAt).and("_id").lt(id)
+            ));
+        }
+        query.with(Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "_id")));
+        query.limit(limit);
+        // Only pull what the summary needs; photos and descriptions stay on the server
+        query.fields().exclude("itemPhoto", "itemDescription");
+        return mongoTemplate.find(query, ReportSummary.class, mongoTemplate.getCollectionName(UserReport.class));
+    }
+
+    @Override
+    public List<ReportSummary> findSummariesNear(GeoJsonPoint point, double minDistance, Double maxDistance,
+                                                 GeoJsonPolygon within, int skip, int limit) {
+        // Spring reads bare numbers as radians for a GeoJSON point; in METRES they and the output are metres
+        NearQuery near = NearQuery.near(point, METRES).spherical(true).minDistance(new Distance(minDistance, METRES));
+        if (maxDistance != null) {
+            near.maxDistance(new Distance(maxDistance, METRES));
+        }
+        if (within != null) {
+            near.query(new Query(Criteria.where("coordinates").within(within)));
+        }
+        List<AggregationOperation> stages = new ArrayList<>();
+        stages.add(Aggregation.geoNear(near, "distance").useIndex("coordinates"));
+        if (skip > 0) {
+            stages.add(Aggregation.skip((long) skip));
+        }
+        stages.add(Aggregation.limit(limit));
+        stages.add(Aggregation.project().andExclude("itemPhoto", "itemDescription"));
+        Aggregation aggregation = Aggregation.newAggregation(stages);
+        return mongoTemplate.aggregate(aggregation, mongoTemplate.getCollectionName(UserReport.class), ReportSummary.class)
+                .getMappedResults();
+    }
+
+    @Override
+    public FilteredReports findFiltered(ReportFilter filter, Date createdAt, ObjectId id, int limit) {
+        List<AggregationOperation> items = new ArrayList<>();
+        if (createdAt != null && id != null) {
+            items.add(Aggregation.match(new Criteria().orOperator(
+                    Criteria.where("createdAt").lt(createdAt),
+                    Criteria.where("createdAt").is(createdAt).and("_id").lt(id))));
+        }
+        // $sort directly followed by $limit is a top-k sort: it keeps limit documents, not every match
+        items.add(Aggregation.sort(Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "_id"))));
+        items.add(Aggregation.limit(limit));
+
+        // The counts need every match anyway, so the index only has to find the matches (equality plus the
+        // itemDate range, see UserReport), not return them in order. $facet then makes one pass over them,
+        // trimmed to the summary fields so legacy inline photos are never carried through it.
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(filterCriteria(filter)),
+                Aggregation.project(SUMMARY_FIELDS),
+                Aggregation.facet(items.toArray(new AggregationOperation[0])).as("items")
+                        .and(Aggregation.count().as("total")).as("total")
+                        .and(Aggregation.sortByCount("itemType")).as("itemType")
+                        .and(Aggregation.sortByCount("itemCategory"), Aggregation.limit(FACET_LIMIT)).as("itemCategory")
+                        .and(Aggregation.sortByCount("itemLocation"), Aggregation.limit(FACET_LIMIT)).as("itemLocation"));
+        Document result = mongoTemplate.aggregate(aggregation, mongoTemplate.getCollectionName(UserReport.class), Document.class)
+                .getUniqueMappedResult();
+
+        FilteredReports filtered = new FilteredReports();
+        List<ReportSummary> summaries = new ArrayList<>();
+        for (Document item : result.getList("items", Document.class)) {
+            summaries.add(mongoTemplate.getConverter().read(ReportSummary.class, item));
+        }
+        filtered.setItems(summaries);
+        List<Document> total = result.getList("total", Document.class);
+        filtered.setTotal(total.isEmpty() ? 0 : ((Number) total.get(0).get("total")).longValue());
+        Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+        for (String field : new String[] {"itemType", "itemCategory", "itemLocation"}) {
+            Map<String, Long> counts = new LinkedHashMap<>();
+            for (Document bucket : result.getList(field, Document.class)) {
+                // Reports without the field group under null; they still count towards total
+                if (bucket.get("_id") != null) {
+                    counts.put(bucket.get("_id").toString(), ((Number) bucket.get("count")).longValue());
+                }
+            }
+            facets.put(field, counts);
+        }
+        filtered.setFacets(facets);
+        return filtered;
+    }
+
+    // Exact matches; the date range compares itemDate strings, which start with yyyy-MM-dd
+    private static Criteria filterCriteria(ReportFilter filter) {
+        Criteria criteria = new Criteria();
+        if (filter.getItemType() != null) {
+            criteria.and("itemType").is(filter.getItemType());
+        }
+        if (filter.getItemCategory() != null) {
+            criteria.and("itemCategory").is(filter.getItemCategory());
+        }
+        if (filter.getItemLocation() != null) {
+            criteria.and("itemLocation").is(filter.getItemLocation());
+        }
+        if (filter.getLng() != null && filter.getLat() != null && filter.getRadiusKm() != null) {
+            // $centerSphere takes radians; like /near, served by the 2dsphere index
+            criteria.and("coordinates").withinSphere(new Circle(new Point(filter.getLng(), filter.getLat()),
+                    filter.getRadiusKm() * 1000 / UserReport.EARTH_RADIUS_METRES));
+        }
+        if (filter.getDateFrom() != null || filter.getDateTo() != null) {
+            Criteria date = criteria.and("itemDate");
+            if (filter.getDateFrom() != null) {
+                date.gte(filter.getDateFrom());
+            }
+            if (filter.getDateTo() != null) {
+                // Inclusive: "2025-01-31T10:00" sorts after "2025-01-31" but before "2025-02-01"
+                date.lt(LocalDate.parse(filter.getDateTo()).plusDays(1).toString());
+            }
+        }
+        return criteria;
+    }
+
+    @Override
+    public List<ReportSummary> findSummariesByIds(Collection<ObjectId> ids) {
+        Query query = new Query(Criteria.where("_id").in(ids));
+        query.fields().exclude("itemPhoto", "itemDescription");
+        return mongoTemplate.find(query, ReportSummary.class, mongoTemplate.getCollectionName(UserReport.class));
+    }
+}
@@ -10,4 +10,6 @@ public interface UserRepository extends MongoRepository<User , ObjectId> {
 
     public Optional<User> findByEmail(String email);
 
+    public boolean existsByEmail(String email);
+
 }
@@ -0,0 +1,215 @@
+package com.laf.LostAndFound.search;
+
+import com.laf.LostAndFound.entity.UserReport;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// In-memory Lucene index over the searchable text of every report.
+// Mongo stays the source of truth; the index only returns ids and is rebuilt on startup.
+@Component
+public class ReportSearchIndex {
+
+    private static final String ID = "id";
+    private static final String NAME = "itemName";
+    private static final String DESCRIPTION = "itemDescription";
+    private static final String CATEGORY = "itemCategory";
+    private static final String LOCATION = "itemLocation";
+
+    // Field weights for relevance ranking
+    private static final Map<String, Float> FIELD_BOOSTS = Map.of(
+            NAME, 3.0f,
+            CATEGORY, 2.0f,
+            LOCATION, 1.5f,
+            DESCRIPTION, 1.0f
+    );
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private Directory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+    private volatile boolean ready;
+
+    @PostConstruct
+    public void open() throws IOException {
+        directory = new ByteBuffersDirectory();
+        writer = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+        searcherManager = new SearcherManager(writer, null);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void index(UserReport report) throws IOException {
+        if (report == null || report.getId() == null) return;
+        writer.updateDocument(new Term(ID, report.getId()), toDocument(report));
+        searcherManager.maybeRefresh();
+    }
+
+    public void remove(String id) throws IOException {
+        writer.deleteDocuments(new Term(ID, id));
+        searcherManager.maybeRefresh();
+    }
+
+    public void replaceAll(Iterable<UserReport> reports) throws IOException {
+        writer.deleteAll();
+        for (UserReport report : reports) {
+            if (report.getId() != null) {
+                // Not addDocument: a report saved while this runs is already indexed by index(), and the
+                // cursor may still return it
+                writer.updateDocument(new Term(ID, report.getId()), toDocument(report));
+            }
+        }
+        writer.commit();
+        searcherManager.maybeRefreshBlocking();
+        ready = true;
+    }
+
+    public SearchHits search(String text, int offset, int limit) throws IOException {
+        List<String> tokens = analyze(text);
+        if (tokens.isEmpty() || limit <= 0) {
+            return new SearchHits(Collections.emptyList(), 0);
+        }
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            TopDocs top = searcher.search(buildQuery(tokens, false), offset + limit);
+            if (top.totalHits.value == 0) {
+                // Fuzzy expansion is the expensive part, so only pay for it when nothing matched as typed
+                top = searcher.search(buildQuery(tokens, true), offset + limit);
+            }
+            List<String> ids = new ArrayList<>();
+            ScoreDoc[] docs = top.scoreDocs;
+            for (int i = offset; i < docs.length; i++) {
+                ids.add(searcher.storedFields().document(docs[i].doc).get(ID));
+            }
+            return new SearchHits(ids, top.totalHits.value);
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    // Distinct item names whose words start with the typed prefix, best match first
+    public List<String> suggest(String prefix, int limit) throws IOException {
+        List<String> tokens = analyze(prefix);
+        if (tokens.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+        for (int i = 0; i < tokens.size() - 1; i++) {
+            builder.add(new TermQuery(new Term(NAME, tokens.get(i))), BooleanClause.Occur.MUST);
+        }
+        builder.add(new PrefixQuery(new Term(NAME, tokens.get(tokens.size() - 1))), BooleanClause.Occur.MUST);
+
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            // Over-fetch because several reports often share a name
+            TopDocs top = searcher.search(builder.build(), limit * 4);
+            Set<String> names = new LinkedHashSet<>();
+            for (ScoreDoc doc : top.scoreDocs) {
+                String name = searcher.storedFields().document(doc.doc).get(NAME);
+                if (name != null) {
+                    names.add(name.trim());
+                }
+                if (names.size() >= limit) break;
+            }
+            return new ArrayList<>(names);
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    // Every query word must match some field. Each word matches exactly, optionally with typos (words of 4+ chars),
+    // and the last word also as a prefix so results update while the user is typing.
+    private Query buildQuery(List<String> tokens, boolean fuzzy) {
+        BooleanQuery.Builder all = new BooleanQuery.Builder();
+        for (int i = 0; i < tokens.size(); i++) {
+            String token = tokens.get(i);
+            boolean last = i == tokens.size() - 1;
+            BooleanQuery.Builder any = new BooleanQuery.Builder();
+            for (Map.Entry<String, Float> field : FIELD_BOOSTS.entrySet()) {
+                Term term = new Term(field.getKey(), token);
+                float boost = field.getValue();
+                any.add(new BoostQuery(new TermQuery(term), boost), BooleanClause.Occur.SHOULD);
+                if (fuzzy && token.length() >= 4) {
+                    int maxEdits = token.length() >= 8 ? 2 : 1;
+                    any.add(new BoostQuery(new FuzzyQuery(term, maxEdits, 1), boost * 0.5f), BooleanClause.Occur.SHOULD);
+                }
+                if (last) {
+                    any.add(new BoostQuery(new PrefixQuery(term), boost * 0.7f), BooleanClause.Occur.SHOULD);
+                }
+            }
+            all.add(any.build(), BooleanClause.Occur.MUST);
+        }
+        return all.build();
+    }
+
+    private List<String> analyze(String text) throws IOException {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isBlank()) return tokens;
+        try (TokenStream stream = analyzer.tokenStream(NAME, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                tokens.add(term.toString());
+            }
+            stream.end();
+        }
+        return tokens;
+    }
+
+    private Document toDocument(UserReport report) {
+        Document doc = new Document();
+        doc.add(new StringField(ID, report.getId(), Field.Store.YES));
+        addText(doc, NAME, report.getItemName(), Field.Store.YES);
+        addText(doc, DESCRIPTION, report.getItemDescription(), Field.Store.NO);
+        addText(doc, CATEGORY, report.getItemCategory(), Field.Store.NO);
+        addText(doc, LOCATION, report.getItemLocation(), Field.Store.NO);
+        return doc;
+    }
+
+    private void addText(Document doc, String field, String value, Field.Store store) {
+        if (value != null && !value.isEmpty()) {
+            doc.add(new TextField(field, value, store));
+        }
+    }
+}
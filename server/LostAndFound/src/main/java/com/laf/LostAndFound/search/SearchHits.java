@@ -0,0 +1,13 @@
+package com.laf.LostAndFound.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class SearchHits {
+    private List<String> ids; // report ids, best match first
+    private long total;
+}
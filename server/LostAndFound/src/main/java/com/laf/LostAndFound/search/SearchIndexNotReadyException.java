@@ -0,0 +1,8 @@
+package com.laf.LostAndFound.search;
+
+// Thrown while the startup rebuild is still running; controllers answer 503 with Retry-After
+public class SearchIndexNotReadyException extends RuntimeException {
+    public SearchIndexNotReadyException(String message) {
+        super(message);
+    }
+}
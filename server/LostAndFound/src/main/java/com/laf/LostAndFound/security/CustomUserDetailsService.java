@@ -1,8 +1,12 @@
 package com.laf.LostAndFound.security;
 
+import com.laf.LostAndFound.config.CacheConfig;
 import com.laf.LostAndFound.entity.User;
 import com.laf.LostAndFound.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -18,7 +22,12 @@ public class CustomUserDetailsService implements UserDetailsService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    // Called by JwtAuthenticationFilter on every authenticated request; misses (unknown users) are not cached
     @Override
+    @Cacheable(cacheNames = CacheConfig.USER_DETAILS_CACHE)
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         Optional<User> userOpt = userRepository.findByEmail(email);
         if (userOpt.isEmpty()) {
@@ -31,4 +40,14 @@ public class CustomUserDetailsService implements UserDetailsService {
                 Collections.singletonList(new SimpleGrantedAuthority("USER"))
         );
     }
-} 
\ No newline at end of file
+
+    // Tokens carry the email as typed at login, so drop both spellings
+    public void evict(String email) {
+        if (email == null) return;
+        Cache cache = cacheManager.getCache(CacheConfig.USER_DETAILS_CACHE);
+        if (cache != null) {
+            cache.evict(email);
+            cache.evict(email.toLowerCase());
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.laf.LostAndFound.security;
+
+import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
+import com.google.api.client.googleapis.auth.oauth2.GoogleIdTokenVerifier;
+import com.google.api.client.googleapis.auth.oauth2.GooglePublicKeysManager;
+import com.google.api.client.googleapis.javanet.GoogleNetHttpTransport;
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.json.gson.GsonFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+// One verifier for the whole app. Google's signing certificates are cached by GooglePublicKeysManager
+// and refreshed in the background, so /auth/google never waits on a certificate download.
+@Component
+public class GoogleTokenVerifier {
+
+    private static final Logger log = LoggerFactory.getLogger(GoogleTokenVerifier.class);
+
+    private final GooglePublicKeysManager publicKeysManager;
+    private final GoogleIdTokenVerifier verifier;
+    private final Timer verifyTimer;
+
+    @Autowired
+    public GoogleTokenVerifier(MeterRegistry meterRegistry,
+                               @Value("${google.auth.client-id}") String clientId,
+                               @Value("${google.auth.certs-url}") String certsUrl)
+            throws GeneralSecurityException, IOException {
+        this(meterRegistry, GoogleNetHttpTransport.newTrustedTransport(), clientId, certsUrl);
+    }
+
+    // The transport and certificate URL are injectable so tests can serve certificates locally
+    public GoogleTokenVerifier(MeterRegistry meterRegistry, HttpTransport transport, String clientId, String certsUrl) {
+        this.verifyTimer = Timer.builder("auth.google.verify")
+                .description("Google ID token verification time")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.publicKeysManager = new GooglePublicKeysManager.Builder(transport, GsonFactory.getDefaultInstance())
+                .setPublicCertsEncodedUrl(certsUrl)
+                .build();
+        this.verifier = new GoogleIdTokenVerifier.Builder(publicKeysManager)
+                .setAudience(Collections.singletonList(clientId))
+                .build();
+    }
+
+    // Returns null when the token is not a valid Google ID token for our client
+    public GoogleIdToken verify(String idToken) throws GeneralSecurityException, IOException {
+        long start = System.nanoTime();
+        try {
+            return verifier.verify(idToken);
+        } finally {
+            verifyTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // Runs at startup and then periodically, well inside Google's certificate max-age
+    @Scheduled(initialDelay = 0, fixedDelayString = "${google.auth.key-refresh-ms:3600000}")
+    public void refreshKeys() {
+        try {
+            publicKeysManager.refresh();
+        } catch (Exception e) {
+            // Keep serving with the keys we have; the verifier refetches on demand if they expire
+            log.warn("Google certificate refresh failed: {}", e.getMessage());
+        }
+    }
+}
@@ -1,25 +1,99 @@
 package com.laf.LostAndFound.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Component
 public class JwtUtil {
     private static final String SECRET_KEY = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
     private static final int JWT_TOKEN_VALIDITY = 5 * 60 * 60; // 5 hours
+    // How long a verified token is trusted without re-checking its signature
+    private static final long VERIFIED_CACHE_TTL_MILLIS = 60_000;
+    private static final int VERIFIED_CACHE_MAX_SIZE = 10_000;
 
-    private Key getSigningKey() {
-        byte[] keyBytes = java.util.Base64.getDecoder().decode(SECRET_KEY);
-        return Keys.hmacShaKeyFor(keyBytes);
+    // Key and parser are immutable and thread-safe, so build them once
+    private final Key signingKey = Keys.hmacShaKeyFor(Base64.getDecoder().decode(SECRET_KEY));
+    private final JwtParser parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+
+    // Keyed by SHA-256 of the token; entries never outlive the token's own expiry
+    private final Cache<String, Claims> verifiedTokens = Caffeine.newBuilder()
+            .maximumSize(VERIFIED_CACHE_MAX_SIZE)
+            .expireAfter(new Expiry<String, Claims>() {
+                @Override
+                public long expireAfterCreate(String key, Claims claims, long currentTime) {
+                    long untilExpiry = claims.getExpiration().getTime() - System.currentTimeMillis();
+                    return TimeUnit.MILLISECONDS.toNanos(Math.max(0, Math.min(untilExpiry, VERIFIED_CACHE_TTL_MILLIS)));
+                }
+
+                @Override
+                public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+
+                @Override
+                public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .build();
+
+    // outcome: cached (signature check skipped), verified, invalid
+    private final Timer cachedTimer;
+    private final Timer verifiedTimer;
+    private final Timer invalidTimer;
+
+    public JwtUtil(MeterRegistry meterRegistry) {
+        this.cachedTimer = validateTimer(meterRegistry, "cached");
+        this.verifiedTimer = validateTimer(meterRegistry, "verified");
+        this.invalidTimer = validateTimer(meterRegistry, "invalid");
+    }
+
+    // Verifies signature and expiry once and returns every claim, or null if the token is not valid
+    public Claims validate(String token) {
+        if (token == null || token.isEmpty()) return null;
+        long start = System.nanoTime();
+        String cacheKey = hash(token);
+        Claims cached = verifiedTokens.getIfPresent(cacheKey);
+        if (cached != null) {
+            boolean live = cached.getExpiration().after(new Date());
+            (live ? cachedTimer : invalidTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return live ? cached : null;
+        }
+        Claims claims;
+        try {
+            claims = parser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            invalidTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return null;
+        }
+        if (claims.getExpiration() == null) {
+            invalidTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return null;
+        }
+        verifiedTokens.put(cacheKey, claims);
+        verifiedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return claims;
     }
 
     public String extractUsername(String token) {
@@ -36,15 +110,7 @@ public class JwtUtil {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return parser.parseClaimsJws(token).getBody();
     }
 
     public String generateToken(String username) {
@@ -58,12 +124,28 @@ public class JwtUtil {
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + JWT_TOKEN_VALIDITY * 1000))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     public Boolean validateToken(String token, String username) {
-        final String extractedUsername = extractUsername(token);
-        return (username.equals(extractedUsername) && !isTokenExpired(token));
+        Claims claims = validate(token);
+        return claims != null && username.equals(claims.getSubject());
+    }
+
+    private static Timer validateTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("auth.jwt.validate")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
-} 
\ No newline at end of file
+}
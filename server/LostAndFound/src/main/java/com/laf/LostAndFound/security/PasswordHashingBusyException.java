@@ -0,0 +1,8 @@
+package com.laf.LostAndFound.security;
+
+// Thrown when the password hashing pool is saturated; controllers answer 503 with Retry-After
+public class PasswordHashingBusyException extends RuntimeException {
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,123 @@
+package com.laf.LostAndFound.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// BCrypt is deliberately slow. Running it on a small dedicated pool keeps a login burst from taking every
+// servlet thread; once the pool and its queue are full, callers get PasswordHashingBusyException (503).
+@Service
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long waitMillis;
+
+    private final Timer encodeTimer;
+    private final Timer matchTimer;
+    private final Counter rejected;
+
+    @Autowired
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${security.bcrypt.threads:0}") int threads,
+                                  @Value("${security.bcrypt.queue:64}") int queueCapacity,
+                                  @Value("${security.bcrypt.wait-ms:5000}") long waitMillis) {
+        this.passwordEncoder = passwordEncoder;
+        this.waitMillis = waitMillis;
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "bcrypt-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.encodeTimer = Timer.builder("auth.password.hash").tag("op", "encode")
+                .publishPercentileHistogram().register(meterRegistry);
+        this.matchTimer = Timer.builder("auth.password.hash").tag("op", "matches")
+                .publishPercentileHistogram().register(meterRegistry);
+        this.rejected = Counter.builder("auth.password.rejected")
+                .description("Hashing requests refused because the pool was saturated")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.queue.depth", executor, e -> e.getQueue().size())
+                .register(meterRegistry);
+        Gauge.builder("auth.password.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    public String encode(String rawPassword) {
+        return await(submit(() -> encodeTimer.record(() -> passwordEncoder.encode(rawPassword))));
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null) return false;
+        return await(submit(() -> matchTimer.record(() -> passwordEncoder.matches(rawPassword, encodedPassword))));
+    }
+
+    // True when the stored hash uses a lower cost than security.bcrypt.strength
+    public boolean needsRehash(String encodedPassword) {
+        return encodedPassword != null && passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    // Best effort: if the pool is busy the upgrade simply happens on a later login
+    public CompletableFuture<String> encodeInBackground(String rawPassword) {
+        try {
+            return CompletableFuture.supplyAsync(() -> encodeTimer.record(() -> passwordEncoder.encode(rawPassword)), executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private <T> Future<T> submit(Supplier<T> task) {
+        try {
+            return executor.submit(task::get);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingBusyException("Too many sign-in requests, please retry shortly");
+        }
+    }
+
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw new PasswordHashingBusyException("Too many sign-in requests, please retry shortly");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingBusyException("Interrupted while hashing");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            throw new IllegalStateException(cause);
+        }
+    }
+}
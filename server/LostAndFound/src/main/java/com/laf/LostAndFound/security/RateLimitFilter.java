@@ -0,0 +1,211 @@
+package com.laf.LostAndFound.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UriUtils;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Per-client quotas (requests per minute) on the endpoints that cost BCrypt time or Mongo writes:
+// login, registration and report creation. Each route is limited per client IP and per account (the email in
+// the login/registration body, or the {email} in the report path). Runs ahead of JwtAuthenticationFilter.
+// Behind a proxy, set server.forward-headers-strategy so the client IP is the real one.
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    // Login and registration bodies are a few hundred bytes; only this much is read to find the email
+    private static final int MAX_BODY_PEEK = 8192;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final boolean enabled;
+    private final List<Rule> rules;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    public RateLimitFilter(@Value("${rate-limit.enabled:true}") boolean enabled,
+                           @Value("${rate-limit.max-keys:100000}") long maxKeys,
+                           @Value("${rate-limit.login.per-ip:30}") int loginPerIp,
+                           @Value("${rate-limit.login.per-account:10}") int loginPerAccount,
+                           @Value("${rate-limit.register.per-ip:10}") int registerPerIp,
+                           @Value("${rate-limit.register.per-account:3}") int registerPerAccount,
+                           @Value("${rate-limit.report.per-ip:60}") int reportPerIp,
+                           @Value("${rate-limit.report.per-account:20}") int reportPerAccount) {
+        this.enabled = enabled;
+        this.rules = List.of(
+                new Rule("login", List.of("/lostAndFound/user-login", "/lostAndFound/admin-login", "/lostAndFound/auth/google"),
+                        new RateLimiter(loginPerIp, maxKeys), new RateLimiter(loginPerAccount, maxKeys)),
+                new Rule("register", List.of("/lostAndFound/user-register"),
+                        new RateLimiter(registerPerIp, maxKeys), new RateLimiter(registerPerAccount, maxKeys)),
+                new Rule("report", List.of("/user-reports/user-entry/{email}", "/user-reports/bulk/import/{email}"),
+                        new RateLimiter(reportPerIp, maxKeys), new RateLimiter(reportPerAccount, maxKeys)));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !"POST".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (Rule rule : rules) {
+            for (String pattern : rule.patterns()) {
+                if (pathMatcher.match(pattern, path)) {
+                    HttpServletRequest checked = check(rule, pattern, path, request, response);
+                    if (checked != null) {
+                        filterChain.doFilter(checked, response);
+                    }
+                    return;
+                }
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    // Returns the request to continue with (the body may have been read), or null after sending a 429
+    private HttpServletRequest check(Rule rule, String pattern, String path, HttpServletRequest request,
+                                     HttpServletResponse response) throws IOException {
+        long wait = rule.perIp().tryAcquire(request.getRemoteAddr());
+        if (wait > 0) {
+            reject(rule, "ip", wait, response);
+            return null;
+        }
+        if (!rule.perAccount().isEnabled()) {
+            return request;
+        }
+
+        String account;
+        HttpServletRequest next = request;
+        if (pattern.contains("{email}")) {
+            account = UriUtils.decode(pathMatcher.extractUriTemplateVariables(pattern, path).get("email"), StandardCharsets.UTF_8);
+        } else {
+            byte[] head = request.getInputStream().readNBytes(MAX_BODY_PEEK);
+            next = new PeekedBodyRequest(request, head);
+            account = emailIn(head);
+        }
+        if (account != null && !account.isBlank()) {
+            wait = rule.perAccount().tryAcquire(account.trim().toLowerCase(Locale.ROOT));
+            if (wait > 0) {
+                reject(rule, "account", wait, response);
+                return null;
+            }
+        }
+        return next;
+    }
+
+    private String emailIn(byte[] body) {
+        try {
+            JsonNode email = objectMapper.readTree(body).get("email");
+            return email != null && email.isTextual() ? email.asText() : null;
+        } catch (Exception e) {
+            // Not JSON or cut off at MAX_BODY_PEEK: only the IP quota applies
+            return null;
+        }
+    }
+
+    private void reject(Rule rule, String scope, long waitNanos, HttpServletResponse response) throws IOException {
+        meterRegistry.counter("ratelimit.rejected", "route", rule.name(), "scope", scope).increment();
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), Map.of("message", "Too many requests, try again later"));
+    }
+
+    private record Rule(String name, List<String> patterns, RateLimiter perIp, RateLimiter perAccount) {
+    }
+
+    // Replays the bytes already read, then the rest of the original body
+    private static class PeekedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] head;
+        private ServletInputStream stream;
+
+        PeekedBodyRequest(HttpServletRequest request, byte[] head) {
+            super(request);
+            this.head = head;
+        }
+
+        @Override
+        public synchronized ServletInputStream getInputStream() throws IOException {
+            if (stream == null) {
+                stream = new ReplayingInputStream(new ByteArrayInputStream(head), super.getInputStream());
+            }
+            return stream;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+
+    private static class ReplayingInputStream extends ServletInputStream {
+        private final ByteArrayInputStream replay;
+        private final ServletInputStream rest;
+
+        ReplayingInputStream(ByteArrayInputStream replay, ServletInputStream rest) {
+            this.replay = replay;
+            this.rest = rest;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = replay.read();
+            return b != -1 ? b : rest.read();
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) return 0;
+            int n = replay.read(buffer, offset, length);
+            return n != -1 ? n : rest.read(buffer, offset, length);
+        }
+
+        @Override
+        public boolean isFinished() {
+            return replay.available() == 0 && rest.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return replay.available() > 0 || rest.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            rest.setReadListener(readListener);
+        }
+    }
+}
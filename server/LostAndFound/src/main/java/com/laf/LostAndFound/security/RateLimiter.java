@@ -0,0 +1,55 @@
+package com.laf.LostAndFound.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// Token bucket per key (client IP or account) holding up to permitsPerMinute tokens and refilling at that rate.
+// Each bucket is one AtomicLong, the time at which it will be full again (GCRA), updated with a CAS, so
+// concurrent requests never lock. Buckets idle for a minute are full and are evicted; maxKeys bounds memory
+// when an attacker rotates addresses.
+public class RateLimiter {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final LongSupplier clock;
+    private final Cache<String, AtomicLong> buckets;
+
+    public RateLimiter(int permitsPerMinute, long maxKeys) {
+        this(permitsPerMinute, maxKeys, System::nanoTime);
+    }
+
+    RateLimiter(int permitsPerMinute, long maxKeys, LongSupplier clock) {
+        // permitsPerMinute <= 0 disables the limit
+        this.intervalNanos = permitsPerMinute > 0 ? TimeUnit.MINUTES.toNanos(1) / permitsPerMinute : 0;
+        this.burstNanos = intervalNanos * Math.max(0, permitsPerMinute - 1);
+        this.clock = clock;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofMinutes(1))
+                .ticker(clock::getAsLong)
+                .build();
+    }
+
+    // Takes a token for key. Returns 0 when granted, otherwise the nanoseconds until one is available.
+    public long tryAcquire(String key) {
+        if (intervalNanos == 0) return 0;
+        AtomicLong fullAt = buckets.get(key, k -> new AtomicLong(Long.MIN_VALUE));
+        while (true) {
+            long now = clock.getAsLong();
+            long current = fullAt.get();
+            long start = current == Long.MIN_VALUE ? now : Math.max(current, now);
+            long wait = start - now - burstNanos;
+            if (wait > 0) return wait;
+            if (fullAt.compareAndSet(current, start + intervalNanos)) return 0;
+        }
+    }
+
+    public boolean isEnabled() {
+        return intervalNanos > 0;
+    }
+}
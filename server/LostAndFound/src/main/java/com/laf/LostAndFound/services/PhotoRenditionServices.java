@@ -0,0 +1,113 @@
+package com.laf.LostAndFound.services;
+
+import com.laf.LostAndFound.entity.UserReport;
+import com.laf.LostAndFound.events.ReportSavedEvent;
+import com.laf.LostAndFound.storage.ImageResizer;
+import com.laf.LostAndFound.storage.PhotoStore;
+import com.laf.LostAndFound.storage.StoredPhoto;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.awt.image.BufferedImage;
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+// Builds thumbnail and medium JPEG renditions of a report photo; the original stays as uploaded
+@Service
+public class PhotoRenditionServices {
+
+    private static final Logger log = LoggerFactory.getLogger(PhotoRenditionServices.class);
+
+    @Autowired
+    private PhotoStore photoStore;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    @Qualifier("imageExecutor")
+    private TaskExecutor imageExecutor;
+
+    @Value("${photo.renditions.thumbnail-size:320}")
+    private int thumbnailSize;
+
+    @Value("${photo.renditions.medium-size:1024}")
+    private int mediumSize;
+
+    // Uploads need no login and 10MB of PNG can claim billions of pixels, so larger originals get no renditions
+    @Value("${photo.renditions.max-pixels:50000000}")
+    private long maxPixels;
+
+    // Queues rendition work when a report has an original but no renditions yet
+    @EventListener
+    public void onSaved(ReportSavedEvent event) {
+        ensureRenditions(event.getReport());
+    }
+
+    public void ensureRenditions(UserReport report) {
+        if (report != null && report.getPhotoId() != null && report.getThumbnailId() == null) {
+            String reportId = report.getId();
+            String photoId = report.getPhotoId();
+            imageExecutor.execute(() -> generateRenditions(reportId, photoId));
+        }
+    }
+
+    public boolean generateRenditions(String reportId, String photoId) {
+        if (reportId == null || photoId == null) return false;
+        try {
+            Optional<StoredPhoto> original = photoStore.load(photoId);
+            if (original.isEmpty()) return false;
+
+            byte[] data;
+            try (InputStream in = original.get().getContent().getInputStream()) {
+                data = in.readAllBytes();
+            }
+            // Decode once, render every size from the same bitmap
+            BufferedImage image = ImageResizer.decode(data, Math.max(thumbnailSize, mediumSize), maxPixels);
+            if (image == null) {
+                log.info("No decoder for photo {}, skipping renditions", photoId);
+                return false;
+            }
+            String thumbnailId = photoStore.store(ImageResizer.toJpeg(image, thumbnailSize), "image/jpeg");
+            String mediumId = photoStore.store(ImageResizer.toJpeg(image, mediumSize), "image/jpeg");
+
+            // Only apply if the report still points at the same original; a newer upload wins
+            mongoTemplate.updateFirst(
+                    new Query(Criteria.where("_id").is(new ObjectId(reportId)).and("photoId").is(photoId)),
+                    new Update().set("thumbnailId", thumbnailId).set("mediumId", mediumId).currentDate("updatedAt"),
+                    UserReport.class);
+            return true;
+        } catch (Exception e) {
+            log.warn("Rendition generation failed for report {}", reportId, e);
+            return false;
+        }
+    }
+
+    // Backfill for reports whose photo predates the rendition pipeline
+    public int generateMissingRenditions() {
+        Query query = new Query(Criteria.where("photoId").ne(null).and("thumbnailId").exists(false));
+        query.fields().include("_id", "photoId");
+        int generated = 0;
+        try (Stream<UserReport> reports = mongoTemplate.stream(query, UserReport.class)) {
+            for (UserReport report : (Iterable<UserReport>) reports::iterator) {
+                if (generateRenditions(report.getId(), report.getPhotoId())) {
+                    generated++;
+                }
+            }
+        }
+        log.info("Generated renditions for {} reports", generated);
+        return generated;
+    }
+}
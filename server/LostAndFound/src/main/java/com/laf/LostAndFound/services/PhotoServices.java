@@ -0,0 +1,156 @@
+package com.laf.LostAndFound.services;
+
+import com.laf.LostAndFound.entity.UserReport;
+import com.laf.LostAndFound.storage.PhotoStore;
+import com.laf.LostAndFound.storage.StoredPhoto;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URLConnection;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Service
+public class PhotoServices {
+
+    private static final Logger log = LoggerFactory.getLogger(PhotoServices.class);
+
+    @Autowired
+    private PhotoStore photoStore;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    // Clients echo back photoUrl (possibly made absolute) when a photo is unchanged; only raw data is new
+    public boolean isInlinePhoto(String value) {
+        return value != null && !value.isEmpty() && !value.contains(UserReport.PHOTO_URL_PREFIX);
+    }
+
+    // Moves a base64 / data-URI photo into the blob store and points the report at it.
+    // Returns the blobs it replaced; pass them to deleteReplaced once the report is saved.
+    public List<String> attachInlinePhoto(UserReport report, String inlinePhoto) throws IOException {
+        if (!isInlinePhoto(inlinePhoto)) {
+            report.setItemPhoto(null);
+            return List.of();
+        }
+        String contentType = null;
+        String base64 = inlinePhoto;
+        if (inlinePhoto.startsWith("data:")) {
+            int comma = inlinePhoto.indexOf(',');
+            if (comma < 0) {
+                throw new IllegalArgumentException("Malformed data URI");
+            }
+            String header = inlinePhoto.substring(5, comma);
+            int semicolon = header.indexOf(';');
+            contentType = semicolon >= 0 ? header.substring(0, semicolon) : header;
+            base64 = inlinePhoto.substring(comma + 1);
+        }
+        byte[] data = Base64.getMimeDecoder().decode(base64);
+        return attachPhoto(report, data, contentType);
+    }
+
+    public List<String> attachPhoto(UserReport report, byte[] data, String contentType) throws IOException {
+        if (contentType == null || contentType.isEmpty() || "application/octet-stream".equals(contentType)) {
+            contentType = guessContentType(data);
+        }
+        if (!contentType.startsWith("image/")) {
+            throw new IllegalArgumentException("Unsupported photo type: " + contentType);
+        }
+        String previous = report.getPhotoId();
+        String photoId = photoStore.store(data, contentType);
+        if (photoId.equals(previous)) {
+            report.setItemPhoto(null);
+            return List.of();
+        }
+        String previousThumbnail = report.getThumbnailId();
+        String previousMedium = report.getMediumId();
+        report.setPhotoId(photoId);
+        // Renditions belong to the old original; the rendition pipeline rebuilds them
+        report.setThumbnailId(null);
+        report.setMediumId(null);
+        report.setItemPhoto(null);
+        // Not deleted here: the stored report still points at them until the caller saves it
+        List<String> replaced = new ArrayList<>();
+        for (String old : new String[]{previous, previousThumbnail, previousMedium}) {
+            if (old != null) {
+                replaced.add(old);
+            }
+        }
+        return replaced;
+    }
+
+    // Best effort: the report is already saved, so a blob left behind is only wasted space
+    public void deleteReplaced(List<String> photoIds) {
+        for (String photoId : photoIds) {
+            try {
+                deleteIfUnreferenced(photoId);
+            } catch (Exception e) {
+                log.warn("Deleting replaced photo {} failed", photoId, e);
+            }
+        }
+    }
+
+    public Optional<StoredPhoto> load(String photoId) throws IOException {
+        return photoStore.load(photoId);
+    }
+
+    // Photos are content-addressed and may be shared, so only drop the blob when no other report uses it
+    public void deleteIfUnreferenced(String photoId) throws IOException {
+        Query query = new Query(new Criteria().orOperator(
+                Criteria.where("photoId").is(photoId),
+                Criteria.where("thumbnailId").is(photoId),
+                Criteria.where("mediumId").is(photoId)));
+        if (!mongoTemplate.exists(query, UserReport.class)) {
+            photoStore.delete(photoId);
+        }
+    }
+
+    public void deleteAllIfUnreferenced(UserReport report) throws IOException {
+        for (String id : new String[]{report.getPhotoId(), report.getThumbnailId(), report.getMediumId()}) {
+            if (id != null) {
+                deleteIfUnreferenced(id);
+            }
+        }
+    }
+
+    // One-off migration: stream every report that still carries an inline photo and move it to the store
+    public int migrateInlinePhotos() {
+        Query query = new Query(Criteria.where("itemPhoto").exists(true).ne(null).ne(""));
+        query.fields().include("_id", "itemPhoto", "photoId");
+        int migrated = 0;
+        try (Stream<UserReport> reports = mongoTemplate.stream(query, UserReport.class)) {
+            for (UserReport report : (Iterable<UserReport>) reports::iterator) {
+                try {
+                    List<String> replaced = attachInlinePhoto(report, report.getItemPhoto());
+                    mongoTemplate.updateFirst(
+                            new Query(Criteria.where("_id").is(new ObjectId(report.getId()))),
+                            new Update().set("photoId", report.getPhotoId()).unset("itemPhoto").currentDate("updatedAt"),
+                            UserReport.class);
+                    deleteReplaced(replaced);
+                    migrated++;
+                } catch (Exception e) {
+                    log.warn("Skipping photo migration for report {}: {}", report.getId(), e.getMessage());
+                }
+            }
+        }
+        log.info("Migrated {} inline photos to the photo store", migrated);
+        return migrated;
+    }
+
+    private String guessContentType(byte[] data) throws IOException {
+        String guessed = URLConnection.guessContentTypeFromStream(new ByteArrayInputStream(data));
+        return guessed != null ? guessed : "application/octet-stream";
+    }
+}
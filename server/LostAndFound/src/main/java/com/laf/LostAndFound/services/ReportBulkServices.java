@@ -0,0 +1,374 @@
+package com.laf.LostAndFound.services;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.laf.LostAndFound.dto.ImportRowResult;
+import com.laf.LostAndFound.dto.ImportSummary;
+import com.laf.LostAndFound.dto.ReportImportRow;
+import com.laf.LostAndFound.entity.UserReport;
+import com.laf.LostAndFound.events.ReportSavedEvent;
+import com.laf.LostAndFound.repository.UserRepository;
+import com.mongodb.bulk.BulkWriteError;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+// Bulk report import and export. Imports are read row by row from the request stream and written in
+// batches: rows are validated, checked against the owner's existing reports with one query per batch,
+// and inserted with one unordered bulk write, so a bad row never holds up the rest of its batch.
+// Exports stream from a Mongo cursor; neither direction holds more than a batch in memory.
+@Service
+public class ReportBulkServices {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportBulkServices.class);
+    private static final String ADMIN_EMAIL = "laf@admin.com";
+    private static final int EXPORT_BATCH_SIZE = 1000;
+    private static final CsvMapper CSV_MAPPER = new CsvMapper();
+
+    public static final String CREATED = "created";
+    public static final String DUPLICATE = "duplicate";
+    public static final String INVALID = "invalid";
+    public static final String FAILED = "failed";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PhotoServices photoServices;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${reports.bulk.batch-size:500}")
+    private int batchSize;
+
+    // Same rule as a single post: the admin may post for anyone, everyone else must be registered
+    public boolean canImportFor(String email) {
+        String owner = email.toLowerCase();
+        return ADMIN_EMAIL.equals(owner) || userRepository.existsByEmail(owner);
+    }
+
+    // Every row gets exactly one result, passed to the sink in row order a batch at a time
+    public ImportSummary importReports(InputStream body, boolean csv, String email, Consumer<ImportRowResult> sink) throws IOException {
+        String owner = email.toLowerCase();
+        ImportSummary summary = new ImportSummary();
+        // Keys already taken by earlier rows of this import; grows by one short string per row
+        Set<String> seenKeys = new HashSet<>();
+        List<ImportRowResult> results = new ArrayList<>();
+        List<PendingReport> pending = new ArrayList<>();
+
+        Iterator<ParsedRow> rows = csv ? new CsvRows(body) : new NdjsonRows(body);
+        try {
+            while (rows.hasNext()) {
+                ParsedRow parsed = rows.next();
+                ImportRowResult result = new ImportRowResult(parsed.row(), null, null, null);
+                results.add(result);
+                String problem = parsed.error() != null ? parsed.error() : validate(parsed.data());
+                if (problem != null) {
+                    result.setStatus(INVALID);
+                    result.setMessage(problem);
+                } else {
+                    pending.add(new PendingReport(result, toReport(parsed.data(), owner)));
+                }
+                if (results.size() >= batchSize) {
+                    flush(owner, pending, seenKeys, results, summary, sink);
+                }
+            }
+        } catch (UncheckedIOException e) {
+            // The body could not be read or the client went away; earlier batches are already written
+            throw e.getCause();
+        }
+        flush(owner, pending, seenKeys, results, summary, sink);
+        log.info("Imported {} of {} rows for {} ({} duplicate, {} invalid, {} failed)", summary.getCreated(),
+                summary.getRows(), owner, summary.getDuplicates(), summary.getInvalid(), summary.getFailed());
+        return summary;
+    }
+
+    private void flush(String owner, List<PendingReport> pending, Set<String> seenKeys, List<ImportRowResult> results,
+                       ImportSummary summary, Consumer<ImportRowResult> sink) {
+        if (results.isEmpty()) return;
+        // Unlike a single admin post, bulk rows are always deduplicated: re-running a partly failed file
+        // must not double the rows that made it in the first time
+        List<PendingReport> fresh = new ArrayList<>();
+        for (PendingReport candidate : pending) {
+            if (!seenKeys.add(candidate.report.getDedupeKey())) {
+                candidate.result.setStatus(DUPLICATE);
+                candidate.result.setMessage("Repeats an earlier row");
+            } else {
+                fresh.add(candidate);
+            }
+        }
+        Set<String> existing = existingKeys(owner, fresh);
+
+        List<PendingReport> toInsert = new ArrayList<>();
+        Date now = new Date();
+        for (PendingReport candidate : fresh) {
+            UserReport report = candidate.report;
+            if (existing.contains(report.getDedupeKey())) {
+                candidate.result.setStatus(DUPLICATE);
+                candidate.result.setMessage("Report already exists");
+                continue;
+            }
+            try {
+                if (photoServices.isInlinePhoto(report.getItemPhoto())) {
+                    photoServices.attachInlinePhoto(report, report.getItemPhoto());
+                }
+            } catch (Exception e) {
+                candidate.result.setStatus(FAILED);
+                candidate.result.setMessage("Photo could not be stored: " + e.getMessage());
+                continue;
+            }
+            // Ids are assigned here so bulk write errors, which come back by index, map to rows. A preset
+            // id makes auditing treat the report as an update, so createdAt is set by hand.
+            report.setId(new ObjectId());
+            report.setCreatedAt(now);
+            report.setUpdatedAt(now);
+            toInsert.add(candidate);
+        }
+
+        insert(toInsert);
+        for (PendingReport candidate : toInsert) {
+            if (candidate.result.getStatus() != null) continue;
+            UserReport saved = candidate.report;
+            candidate.result.setStatus(CREATED);
+            candidate.result.setId(saved.getId());
+            eventPublisher.publishEvent(ReportSavedEvent.created(saved));
+        }
+
+        for (ImportRowResult result : results) {
+            summary.setRows(summary.getRows() + 1);
+            switch (result.getStatus()) {
+                case CREATED -> summary.setCreated(summary.getCreated() + 1);
+                case DUPLICATE -> summary.setDuplicates(summary.getDuplicates() + 1);
+                case INVALID -> summary.setInvalid(summary.getInvalid() + 1);
+                default -> summary.setFailed(summary.getFailed() + 1);
+            }
+            sink.accept(result);
+        }
+        results.clear();
+        pending.clear();
+    }
+
+    private Set<String> existingKeys(String owner, List<PendingReport> candidates) {
+        Set<String> existing = new HashSet<>();
+        if (candidates.isEmpty()) return existing;
+        List<String> keys = new ArrayList<>(candidates.size());
+        for (PendingReport candidate : candidates) {
+            keys.add(candidate.report.getDedupeKey());
+        }
+        Query query = new Query(Criteria.where("email").is(owner).and("dedupeKey").in(keys));
+        query.fields().include("dedupeKey");
+        for (UserReport report : mongoTemplate.find(query, UserReport.class)) {
+            existing.add(report.getDedupeKey());
+        }
+        return existing;
+    }
+
+    // Failed inserts are marked on their row; the rest of the batch is still written
+    private void insert(List<PendingReport> batch) {
+        if (batch.isEmpty()) return;
+        List<UserReport> reports = new ArrayList<>(batch.size());
+        for (PendingReport candidate : batch) {
+            reports.add(candidate.report);
+        }
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, UserReport.class).insert(reports).execute();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                ImportRowResult result = batch.get(error.getIndex()).result;
+                result.setStatus(FAILED);
+                result.setMessage(error.getMessage());
+            }
+        } catch (DataAccessException e) {
+            log.error("Bulk insert of {} reports failed", batch.size(), e);
+            for (PendingReport candidate : batch) {
+                candidate.result.setStatus(FAILED);
+                candidate.result.setMessage("Could not be saved");
+            }
+        }
+    }
+
+    private static String validate(ReportImportRow row) {
+        if (row == null) return "Empty row";
+        String type = row.getItemType() != null ? row.getItemType().trim().toLowerCase(Locale.ROOT) : "";
+        if (!type.equals("lost") && !type.equals("found")) return "itemType must be lost or found";
+        if (isBlank(row.getItemName())) return "itemName is required";
+        if (isBlank(row.getItemCategory())) return "itemCategory is required";
+        if (isBlank(row.getItemLocation())) return "itemLocation is required";
+        if (isBlank(row.getItemDate())) return "itemDate is required";
+        try {
+            LocalDate.parse(row.getItemDate().trim());
+        } catch (DateTimeParseException e) {
+            return "itemDate must be YYYY-MM-DD";
+        }
+        if ((row.getLongitude() == null) != (row.getLatitude() == null)) return "longitude and latitude go together";
+        if (row.getLongitude() != null
+                && !UserReport.validCoordinates(new GeoJsonPoint(row.getLongitude(), row.getLatitude()))) {
+            return "Invalid coordinates";
+        }
+        return null;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    // Field values as the client's form would send them: lower-case type, trimmed text
+    private static UserReport toReport(ReportImportRow row, String owner) {
+        UserReport report = new UserReport();
+        report.setItemType(row.getItemType().trim().toLowerCase(Locale.ROOT));
+        report.setItemName(row.getItemName().trim());
+        report.setItemCategory(row.getItemCategory().trim());
+        report.setItemLocation(row.getItemLocation().trim());
+        report.setItemDate(row.getItemDate().trim());
+        report.setItemDescription(row.getItemDescription());
+        report.setItemPhoto(row.getItemPhoto());
+        report.setPhone(row.getPhone());
+        report.setEmail(owner);
+        if (row.getLongitude() != null) {
+            report.setCoordinates(new GeoJsonPoint(row.getLongitude(), row.getLatitude()));
+        }
+        report.setDedupeKey(UserReport.dedupeKeyOf(report.getItemName(), report.getItemCategory(),
+                report.getItemLocation(), report.getItemDate()));
+        return report;
+    }
+
+    // Newest first, by the same indexes as /all and the owner's history; the photo bytes and the dedupe
+    // key stay in Mongo. The caller must close the stream.
+    public Stream<UserReport> exportReports(String email) {
+        Query query = email != null && !email.isBlank()
+                ? new Query(Criteria.where("email").is(email.toLowerCase()))
+                : new Query();
+        query.with(Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "_id")))
+                .cursorBatchSize(EXPORT_BATCH_SIZE);
+        query.fields().exclude("itemPhoto", "dedupeKey");
+        return mongoTemplate.stream(query, UserReport.class);
+    }
+
+    private record ParsedRow(int row, ReportImportRow data, String error) {
+    }
+
+    private record PendingReport(ImportRowResult result, UserReport report) {
+    }
+
+    // One JSON object per line; a malformed line only spoils its own row
+    private class NdjsonRows implements Iterator<ParsedRow> {
+        private final BufferedReader reader;
+        private String line;
+        private int lineNumber;
+
+        NdjsonRows(InputStream body) {
+            this.reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                while (line == null) {
+                    String next = reader.readLine();
+                    if (next == null) return false;
+                    lineNumber++;
+                    if (!next.isBlank()) line = next;
+                }
+                return true;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public ParsedRow next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            String current = line;
+            line = null;
+            try {
+                return new ParsedRow(lineNumber, objectMapper.readValue(current, ReportImportRow.class), null);
+            } catch (IOException e) {
+                return new ParsedRow(lineNumber, null, "Malformed JSON");
+            }
+        }
+    }
+
+    // Header row names the columns, in any order. Quoted values may span lines, so after a syntax error
+    // the parser cannot find the next record reliably and the import stops at the bad one.
+    private static class CsvRows implements Iterator<ParsedRow> {
+        private final MappingIterator<ReportImportRow> values;
+        private int row;
+        private boolean broken;
+
+        CsvRows(InputStream body) throws IOException {
+            this.values = CSV_MAPPER.readerFor(ReportImportRow.class)
+                    .with(CsvSchema.emptySchema().withHeader())
+                    .with(CsvParser.Feature.TRIM_SPACES)
+                    .with(CsvParser.Feature.SKIP_EMPTY_LINES)
+                    .readValues(body);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (broken) return false;
+            try {
+                return values.hasNextValue();
+            } catch (IOException e) {
+                broken = true;
+                row++;
+                return true;
+            }
+        }
+
+        @Override
+        public ParsedRow next() {
+            if (broken) {
+                // hasNext() hit the error; report it once as this row and end there
+                return new ParsedRow(row, null, "Unreadable CSV, import stopped here");
+            }
+            row++;
+            try {
+                return new ParsedRow(row, values.nextValue(), null);
+            } catch (IOException e) {
+                broken = true;
+                return new ParsedRow(row, null, "Unreadable CSV, import stopped here");
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.laf.LostAndFound.services;
+
+import com.laf.LostAndFound.dto.ReportMatch;
+import com.laf.LostAndFound.dto.ReportSummary;
+import com.laf.LostAndFound.entity.UserReport;
+import com.laf.LostAndFound.events.ReportDeletedEvent;
+import com.laf.LostAndFound.events.ReportSavedEvent;
+import com.laf.LostAndFound.matching.MatchCandidate;
+import com.laf.LostAndFound.matching.ReportMatchEngine;
+import com.laf.LostAndFound.repository.UserReportRepository;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+public class ReportMatchServices {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportMatchServices.class);
+
+    @Autowired
+    private ReportMatchEngine reportMatchEngine;
+
+    @Autowired
+    private UserReportRepository userReportRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ReportNotificationServices reportNotificationServices;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        Thread thread = new Thread(this::rebuild, "match-index-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public void rebuild() {
+        // Fixed batches keep each reply small however many reports there are
+        Query query = new Query().cursorBatchSize(1000);
+        query.fields().exclude("itemPhoto");
+        try (Stream<UserReport> reports = mongoTemplate.stream(query, UserReport.class)) {
+            reportMatchEngine.replaceAll(reports::iterator);
+            log.info("Match index rebuilt");
+        } catch (Exception e) {
+            log.error("Match index rebuild failed", e);
+        }
+    }
+
+    @EventListener
+    public void onSaved(ReportSavedEvent event) {
+        UserReport report = event.getReport();
+        try {
+            Set<String> known = new HashSet<>();
+            reportMatchEngine.matchesFor(report.getId()).forEach(candidate -> known.add(candidate.getReportId()));
+            List<MatchCandidate> candidates = reportMatchEngine.upsert(report);
+            // Only pairs that did not exist before this save; an edit should not re-announce old matches
+            List<MatchCandidate> newCandidates = candidates.stream()
+                    .filter(candidate -> !known.contains(candidate.getReportId()))
+                    .collect(Collectors.toList());
+            reportNotificationServices.matchesFound(report, newCandidates);
+        } catch (Exception e) {
+            log.warn("Failed to match report {}", report.getId(), e);
+        }
+    }
+
+    @EventListener
+    public void onDeleted(ReportDeletedEvent event) {
+        String id = event.getReport().getId();
+        try {
+            reportMatchEngine.remove(id);
+        } catch (Exception e) {
+            log.warn("Failed to remove report {} from matches", id, e);
+        }
+    }
+
+    // Best candidates first; empty until the startup rebuild has finished
+    public List<ReportMatch> getMatches(String id) {
+        List<MatchCandidate> candidates = reportMatchEngine.matchesFor(id);
+        if (candidates.isEmpty()) return Collections.emptyList();
+        List<ObjectId> ids = candidates.stream().map(c -> new ObjectId(c.getReportId())).collect(Collectors.toList());
+        Map<String, ReportSummary> byId = userReportRepository.findSummariesByIds(ids).stream()
+                .collect(Collectors.toMap(ReportSummary::getId, Function.identity(), (a, b) -> a));
+        List<ReportMatch> matches = new ArrayList<>(candidates.size());
+        for (MatchCandidate candidate : candidates) {
+            ReportSummary summary = byId.get(candidate.getReportId());
+            if (summary != null) {
+                matches.add(new ReportMatch(summary, candidate.getScore()));
+            }
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,121 @@
+package com.laf.LostAndFound.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.laf.LostAndFound.dto.ReportMatch;
+import com.laf.LostAndFound.dto.ReportSummary;
+import com.laf.LostAndFound.entity.UserReport;
+import com.laf.LostAndFound.events.ReportDeletedEvent;
+import com.laf.LostAndFound.events.ReportSavedEvent;
+import com.laf.LostAndFound.matching.MatchCandidate;
+import com.laf.LostAndFound.notifications.ReportEvent;
+import com.laf.LostAndFound.notifications.ReportEventHub;
+import com.laf.LostAndFound.repository.UserReportRepository;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Turns report changes into push events. Payloads are serialized once per event, not once per subscriber.
+@Service
+public class ReportNotificationServices {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportNotificationServices.class);
+
+    public static final String REPORT_CREATED = "report-created";
+    public static final String REPORT_UPDATED = "report-updated";
+    public static final String REPORT_DELETED = "report-deleted";
+    public static final String MATCH_FOUND = "match-found";
+
+    @Autowired
+    private ReportEventHub reportEventHub;
+
+    @Autowired
+    private UserReportRepository userReportRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @EventListener
+    public void onSaved(ReportSavedEvent event) {
+        if (event.isCreated()) {
+            reportCreated(event.getReport());
+        } else {
+            reportUpdated(event.getBefore(), event.getReport());
+        }
+    }
+
+    @EventListener
+    public void onDeleted(ReportDeletedEvent event) {
+        reportDeleted(event.getReport());
+    }
+
+    public void reportCreated(UserReport report) {
+        publish(REPORT_CREATED, report, null, report);
+    }
+
+    // before carries the old category/location, so subscribers filtering on them also see the change
+    public void reportUpdated(UserReport before, UserReport after) {
+        publish(REPORT_UPDATED, after, before, after);
+    }
+
+    public void reportDeleted(UserReport report) {
+        publish(REPORT_DELETED, report, null, Map.of("_id", report.getId()));
+    }
+
+    // Tells the owners on both sides of each new lost/found pair
+    public void matchesFound(UserReport report, List<MatchCandidate> newCandidates) {
+        if (newCandidates.isEmpty() || reportEventHub.subscriberCount() == 0 || !reportEventHub.hasUserSubscribers()) {
+            return;
+        }
+        try {
+            List<ObjectId> ids = new ArrayList<>();
+            ids.add(new ObjectId(report.getId()));
+            newCandidates.forEach(candidate -> ids.add(new ObjectId(candidate.getReportId())));
+            Map<String, ReportSummary> byId = userReportRepository.findSummariesByIds(ids).stream()
+                    .collect(Collectors.toMap(ReportSummary::getId, Function.identity(), (a, b) -> a));
+            ReportSummary self = byId.get(report.getId());
+            if (self == null) return;
+            for (MatchCandidate candidate : newCandidates) {
+                ReportSummary other = byId.get(candidate.getReportId());
+                if (other == null) continue;
+                notifyOwner(self, other, candidate.getScore());
+                notifyOwner(other, self, candidate.getScore());
+            }
+        } catch (Exception e) {
+            log.warn("Failed to publish matches for report {}", report.getId(), e);
+        }
+    }
+
+    private void notifyOwner(ReportSummary own, ReportSummary match, double score) throws JsonProcessingException {
+        if (own.getEmail() == null) return;
+        String data = objectMapper.writeValueAsString(Map.of("reportId", own.getId(), "match", new ReportMatch(match, score)));
+        reportEventHub.publish(new ReportEvent(MATCH_FOUND, Set.of(), Set.of(), own.getEmail().toLowerCase(Locale.ROOT), data));
+    }
+
+    private void publish(String name, UserReport report, UserReport before, Object payload) {
+        if (reportEventHub.subscriberCount() == 0) return;
+        try {
+            Set<String> categories = new HashSet<>();
+            Set<String> locations = new HashSet<>();
+            for (UserReport version : before == null ? List.of(report) : List.of(before, report)) {
+                if (version.getItemCategory() != null) categories.add(version.getItemCategory().trim().toLowerCase(Locale.ROOT));
+                if (version.getItemLocation() != null) locations.add(version.getItemLocation().trim().toLowerCase(Locale.ROOT));
+            }
+            reportEventHub.publish(new ReportEvent(name, categories, locations, null, objectMapper.writeValueAsString(payload)));
+        } catch (Exception e) {
+            log.warn("Failed to publish {} for report {}", name, report.getId(), e);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.laf.LostAndFound.services;
+
+import com.laf.LostAndFound.dto.ReportSummary;
+import com.laf.LostAndFound.dto.SearchPage;
+import com.laf.LostAndFound.entity.UserReport;
+import com.laf.LostAndFound.events.ReportDeletedEvent;
+import com.laf.LostAndFound.events.ReportSavedEvent;
+import com.laf.LostAndFound.repository.UserReportRepository;
+import com.laf.LostAndFound.search.ReportSearchIndex;
+import com.laf.LostAndFound.search.SearchHits;
+import com.laf.LostAndFound.search.SearchIndexNotReadyException;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+public class ReportSearchServices {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportSearchServices.class);
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int LEGACY_SEARCH_LIMIT = 100;
+    // Lucene collects offset + size hits per request, so deep pages are refused rather than paid for
+    public static final int MAX_RESULT_WINDOW = 10_000;
+
+    @Autowired
+    private ReportSearchIndex reportSearchIndex;
+
+    @Autowired
+    private UserReportRepository userReportRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    // Build the index in the background so startup is not blocked; searches fall back to regex until ready
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        Thread thread = new Thread(this::rebuild, "search-index-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public void rebuild() {
+        // Fixed batches keep each reply small however many reports there are
+        Query query = new Query().cursorBatchSize(1000);
+        query.fields().exclude("itemPhoto");
+        try (Stream<UserReport> reports = mongoTemplate.stream(query, UserReport.class)) {
+            reportSearchIndex.replaceAll(reports::iterator);
+            log.info("Search index rebuilt");
+        } catch (Exception e) {
+            log.error("Search index rebuild failed", e);
+        }
+    }
+
+    @EventListener
+    public void onSaved(ReportSavedEvent event) {
+        UserReport report = event.getReport();
+        try {
+            reportSearchIndex.index(report);
+        } catch (Exception e) {
+            log.warn("Failed to index report {}", report.getId(), e);
+        }
+    }
+
+    @EventListener
+    public void onDeleted(ReportDeletedEvent event) {
+        String id = event.getReport().getId();
+        try {
+            reportSearchIndex.remove(id);
+        } catch (Exception e) {
+            log.warn("Failed to remove report {} from index", id, e);
+        }
+    }
+
+    // Until the index is built a page would be silently partial and its total wrong, so callers get told to retry
+    public SearchPage<ReportSummary> search(String text, Integer page, Integer size) throws IOException {
+        requireReady();
+        int pageNumber = page == null ? 0 : Math.max(0, page);
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        long offset = (long) pageNumber * pageSize;
+        if (offset + pageSize > MAX_RESULT_WINDOW) {
+            throw new IllegalArgumentException("Only the first " + MAX_RESULT_WINDOW + " results can be paged through");
+        }
+
+        SearchHits hits = reportSearchIndex.search(text, (int) offset, pageSize);
+        List<ObjectId> ids = hits.getIds().stream().map(ObjectId::new).collect(Collectors.toList());
+        List<ReportSummary> items = ids.isEmpty()
+                ? Collections.emptyList()
+                : inRankOrder(hits.getIds(), userReportRepository.findSummariesByIds(ids), ReportSummary::getId);
+        return new SearchPage<>(items, pageNumber, pageSize, hits.getTotal());
+    }
+
+    public List<String> suggest(String prefix, Integer limit) throws IOException {
+        requireReady();
+        int max = limit == null ? 10 : Math.max(1, Math.min(limit, 20));
+        return reportSearchIndex.suggest(prefix, max);
+    }
+
+    private void requireReady() {
+        if (!reportSearchIndex.isReady()) {
+            throw new SearchIndexNotReadyException("Search index is still being built");
+        }
+    }
+
+    // Backs the original /search endpoint, which returns full reports
+    public List<UserReport> searchReports(String text) {
+        if (!reportSearchIndex.isReady()) {
+            return userReportRepository.findByItemNameContainingIgnoreCase(text);
+        }
+        SearchHits hits;
+        try {
+            hits = reportSearchIndex.search(text, 0, LEGACY_SEARCH_LIMIT);
+        } catch (IOException e) {
+            log.warn("Index search failed, falling back to regex", e);
+            return userReportRepository.findByItemNameContainingIgnoreCase(text);
+        }
+        List<ObjectId> ids = hits.getIds().stream().map(ObjectId::new).collect(Collectors.toList());
+        List<UserReport> reports = new ArrayList<>();
+        userReportRepository.findAllById(ids).forEach(reports::add);
+        return inRankOrder(hits.getIds(), reports, UserReport::getId);
+    }
+
+    private <T> List<T> inRankOrder(List<String> rankedIds, List<T> rows, Function<T, String> idOf) {
+        Map<String, T> byId = rows.stream().collect(Collectors.toMap(idOf, Function.identity(), (a, b) -> a));
+        List<T> ordered = new ArrayList<>(rankedIds.size());
+        for (String id : rankedIds) {
+            T row = byId.get(id);
+            if (row != null) {
+                ordered.add(row);
+            }
+        }
+        return ordered;
+    }
+}
@@ -0,0 +1,159 @@
+package com.laf.LostAndFound.services;
+
+import com.laf.LostAndFound.dto.ReportStats;
+import com.laf.LostAndFound.entity.UserReport;
+import com.laf.LostAndFound.events.ReportDeletedEvent;
+import com.laf.LostAndFound.events.ReportSavedEvent;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.facet;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.group;
+
+// Report counters kept in memory and adjusted on every create/update/delete, so reads are O(categories).
+// A $group aggregation rebuilds them at startup and periodically to correct any drift.
+@Service
+public class ReportStatsServices {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportStatsServices.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private volatile Counters counters = new Counters();
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        Thread thread = new Thread(this::rebuild, "stats-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Scheduled(fixedDelayString = "${stats.rebuild-interval-ms:3600000}", initialDelayString = "${stats.rebuild-interval-ms:3600000}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        try {
+            counters = aggregate();
+            ready = true;
+        } catch (Exception e) {
+            log.warn("Stats rebuild failed", e);
+        }
+    }
+
+    @EventListener
+    public void onSaved(ReportSavedEvent event) {
+        if (event.isCreated()) {
+            recordAdded(event.getReport());
+        } else {
+            recordUpdated(event.getBefore(), event.getReport());
+        }
+    }
+
+    @EventListener
+    public void onDeleted(ReportDeletedEvent event) {
+        recordRemoved(event.getReport());
+    }
+
+    public void recordAdded(UserReport report) {
+        counters.apply(report, 1);
+    }
+
+    public void recordRemoved(UserReport report) {
+        counters.apply(report, -1);
+    }
+
+    public void recordUpdated(UserReport before, UserReport after) {
+        recordRemoved(before);
+        recordAdded(after);
+    }
+
+    public Map<String, Long> getCategoryStats() {
+        return getStats().getCategories();
+    }
+
+    public ReportStats getStats() {
+        // Until the first rebuild lands, answer straight from Mongo rather than with zeros
+        Counters current = ready ? counters : aggregate();
+        return current.toStats();
+    }
+
+    private Counters aggregate() {
+        Aggregation aggregation = Aggregation.newAggregation(
+                facet(group().count().as("count")).as("total")
+                        .and(group("itemCategory").count().as("count")).as("categories")
+                        .and(group("itemType").count().as("count")).as("types")
+                        .and(group("itemLocation").count().as("count")).as("locations")
+        );
+        Document result = mongoTemplate.aggregate(aggregation,
+                mongoTemplate.getCollectionName(UserReport.class), Document.class).getUniqueMappedResult();
+
+        Counters fresh = new Counters();
+        if (result == null) return fresh;
+        List<Document> total = result.getList("total", Document.class);
+        fresh.total.set(total.isEmpty() ? 0 : ((Number) total.get(0).get("count")).longValue());
+        fill(fresh.categories, result.getList("categories", Document.class));
+        fill(fresh.types, result.getList("types", Document.class));
+        fill(fresh.locations, result.getList("locations", Document.class));
+        return fresh;
+    }
+
+    private void fill(Map<String, AtomicLong> target, List<Document> groups) {
+        for (Document group : groups) {
+            Object key = group.get("_id");
+            if (key instanceof String && !((String) key).isEmpty()) {
+                target.put((String) key, new AtomicLong(((Number) group.get("count")).longValue()));
+            }
+        }
+    }
+
+    private static class Counters {
+        private final AtomicLong total = new AtomicLong();
+        private final Map<String, AtomicLong> categories = new ConcurrentHashMap<>();
+        private final Map<String, AtomicLong> types = new ConcurrentHashMap<>();
+        private final Map<String, AtomicLong> locations = new ConcurrentHashMap<>();
+
+        void apply(UserReport report, int delta) {
+            if (report == null) return;
+            total.addAndGet(delta);
+            bump(categories, report.getItemCategory(), delta);
+            bump(types, report.getItemType(), delta);
+            bump(locations, report.getItemLocation(), delta);
+        }
+
+        private void bump(Map<String, AtomicLong> map, String key, int delta) {
+            if (key == null || key.isEmpty()) return;
+            map.computeIfAbsent(key, k -> new AtomicLong()).addAndGet(delta);
+        }
+
+        ReportStats toStats() {
+            return new ReportStats(total.get(), snapshot(categories), snapshot(types), snapshot(locations));
+        }
+
+        private Map<String, Long> snapshot(Map<String, AtomicLong> map) {
+            Map<String, Long> copy = new HashMap<>();
+            map.forEach((key, value) -> {
+                long count = value.get();
+                if (count > 0) copy.put(key, count);
+            });
+            return copy;
+        }
+    }
+}
@@ -1,30 +1,72 @@
 package com.laf.LostAndFound.services;
 
+import com.laf.LostAndFound.dto.FilteredReports;
+import com.laf.LostAndFound.dto.ReportFilter;
+import com.laf.LostAndFound.dto.ReportPage;
+import com.laf.LostAndFound.dto.ReportSummary;
 import com.laf.LostAndFound.entity.User;
 import com.laf.LostAndFound.entity.UserReport;
+import com.laf.LostAndFound.events.ReportDeletedEvent;
+import com.laf.LostAndFound.events.ReportSavedEvent;
 import com.laf.LostAndFound.repository.UserReportRepository;
 import com.laf.LostAndFound.repository.UserRepository;
+import com.mongodb.DBRef;
 import org.bson.types.ObjectId;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.geo.GeoJsonPolygon;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
 import java.util.List;
-import java.util.Objects;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
 public class UserReportServices {
 
+    private static final Logger log = LoggerFactory.getLogger(UserReportServices.class);
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final double DEFAULT_RADIUS_METERS = 2_000;
+    public static final double MAX_RADIUS_METERS = 50_000;
+
     @Autowired
     private UserReportRepository userReportRepository;
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
     @Autowired
     private UserServices userServices;
 
+    @Autowired
+    private PhotoServices photoServices;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
 
     public boolean addEntry(UserReport newReport, String email) {
         if (email == null || newReport == null) return false;
@@ -36,48 +78,45 @@ public class UserReportServices {
         if ("laf@admin.com".equals(email.toLowerCase())) {
             // For admin posts, save directly without user validation
             try {
-                System.out.println("Saving admin post: " + newReport.getItemName());
+                log.debug("Saving admin post: {}", newReport.getItemName());
+                storeInlinePhoto(newReport);
                 UserReport savedReport = userReportRepository.save(newReport);
-                System.out.println("Admin post saved successfully with ID: " + savedReport.getId());
+                log.info("Admin post saved with id {}", savedReport.getId());
+                eventPublisher.publishEvent(ReportSavedEvent.created(savedReport));
                 return true;
             } catch (Exception e) {
-                e.printStackTrace();
+                log.error("Saving admin post failed", e);
                 return false;
             }
         }
 
         // For regular user posts, check if user exists
-        Optional<User> userOpt = userRepository.findByEmail(email.toLowerCase());
-        if (userOpt.isEmpty()) return false;
-        User user = userOpt.get();
+        if (!userRepository.existsByEmail(email.toLowerCase())) return false;
 
-        List<UserReport> existingReports = user.getUserReports();
-        if (existingReports != null) {
-            boolean isDuplicate = existingReports.stream().anyMatch(existing ->
-                    equalsIgnoreCase(existing.getItemName(), newReport.getItemName()) &&
-                            equalsIgnoreCase(existing.getItemCategory(), newReport.getItemCategory()) &&
-                            equalsIgnoreCase(existing.getItemLocation(), newReport.getItemLocation()) &&
-                            Objects.equals(existing.getItemDate(), newReport.getItemDate())
-            );
-            if (isDuplicate) return false;
+        String dedupeKey = UserReport.dedupeKeyOf(newReport.getItemName(), newReport.getItemCategory(),
+                newReport.getItemLocation(), newReport.getItemDate());
+        if (dedupeKey != null && userReportRepository.existsByEmailAndDedupeKey(email.toLowerCase(), dedupeKey)) {
+            return false;
         }
 
         // Save new report
-        UserReport savedReport = userReportRepository.save(newReport);
-
-        // Attach to user
-        if (existingReports == null) {
-            existingReports = new ArrayList<>();
-            user.setUserReports(existingReports);
+        try {
+            storeInlinePhoto(newReport);
+        } catch (Exception e) {
+            log.error("Storing photo for new report failed", e);
+            return false;
         }
-        existingReports.add(savedReport);
-        userRepository.save(user);
+        UserReport savedReport = userReportRepository.save(newReport);
+        eventPublisher.publishEvent(ReportSavedEvent.created(savedReport));
 
         return true;
     }
 
-    private boolean equalsIgnoreCase(String a, String b) {
-        return a != null && b != null && a.equalsIgnoreCase(b);
+    // Keep the photo bytes out of the report document
+    private void storeInlinePhoto(UserReport report) throws IOException {
+        if (photoServices.isInlinePhoto(report.getItemPhoto())) {
+            photoServices.attachInlinePhoto(report, report.getItemPhoto());
+        }
     }
 
 
@@ -85,15 +124,28 @@ public class UserReportServices {
         Optional<UserReport> byId = userReportRepository.findById(id);
         if (byId.isPresent()){
             UserReport userReport1 = byId.get();
+            UserReport before = ReportSavedEvent.snapshot(userReport1);
             userReport1.setItemName(userReport.getItemName());
             userReport1.setItemCategory(userReport.getItemCategory());
             userReport1.setItemDescription(userReport.getItemDescription());
-            userReport1.setItemPhoto(userReport.getItemPhoto());
+            List<String> replacedPhotos = List.of();
+            if (photoServices.isInlinePhoto(userReport.getItemPhoto())) {
+                try {
+                    replacedPhotos = photoServices.attachInlinePhoto(userReport1, userReport.getItemPhoto());
+                } catch (IOException e) {
+                    log.error("Storing photo for report {} failed", id, e);
+                }
+            }
             userReport1.setItemDate(userReport.getItemDate());
             userReport1.setItemLocation(userReport.getItemLocation());
             userReport1.setEmail(userReport.getEmail());
             userReport1.setPhone(userReport.getPhone());
+            if (userReport.getCoordinates() != null && UserReport.validCoordinates(userReport.getCoordinates())) {
+                userReport1.setCoordinates(userReport.getCoordinates());
+            }
             userReportRepository.save(userReport1);
+            photoServices.deleteReplaced(replacedPhotos);
+            eventPublisher.publishEvent(new ReportSavedEvent(before, userReport1));
             return userReport1;
         }
         return userReport;
@@ -116,31 +168,216 @@ public class UserReportServices {
 
         UserReport reportToDelete = reportOpt.get();
 
-        // Get user by email
-        Optional<User> userOpt = userRepository.findByEmail(reportToDelete.getEmail());
-        if (userOpt.isPresent()) {
-            User user = userOpt.get();
-            if (user.getUserReports() != null) {
-                // Safely remove report reference by comparing string IDs
-                boolean removed = user.getUserReports().removeIf(r ->
-                        r.getId() != null && r.getId().toString().equals(id)
-                );
-
-                if (removed) {
-                    userRepository.save(user);
+        // Delete the report itself
+        userReportRepository.deleteById(objectId);
+        eventPublisher.publishEvent(new ReportDeletedEvent(reportToDelete));
+
+        try {
+            photoServices.deleteAllIfUnreferenced(reportToDelete);
+        } catch (Exception e) {
+            log.warn("Cleaning up photos of deleted report {} failed", id, e);
+        }
+        return true;
+    }
+
+
+    // One-off migration away from the User.userReports DBRef list: make sure every referenced report carries
+    // its owner's email, drop the list from the user documents, and backfill dedupeKey on older reports.
+    public void migrateUserReportBackrefs() {
+        String usersCollection = mongoTemplate.getCollectionName(User.class);
+        Query withBackrefs = new Query(Criteria.where("userReports").exists(true));
+        withBackrefs.fields().include("email", "userReports");
+        int owners = 0;
+        try (Stream<Document> users = mongoTemplate.stream(withBackrefs, Document.class, usersCollection)) {
+            for (Document user : (Iterable<Document>) users::iterator) {
+                String email = user.getString("email");
+                List<Object> refs = user.getList("userReports", Object.class);
+                if (email == null || refs == null || refs.isEmpty()) continue;
+                List<ObjectId> ids = new ArrayList<>();
+                for (Object ref : refs) {
+                    if (ref instanceof DBRef && ((DBRef) ref).getId() instanceof ObjectId) {
+                        ids.add((ObjectId) ((DBRef) ref).getId());
+                    }
                 }
+                mongoTemplate.updateMulti(
+                        new Query(Criteria.where("_id").in(ids).orOperator(
+                                Criteria.where("email").exists(false), Criteria.where("email").is(null))),
+                        new Update().set("email", email.toLowerCase()).currentDate("updatedAt"),
+                        UserReport.class);
+                owners++;
             }
         }
+        mongoTemplate.updateMulti(withBackrefs, new Update().unset("userReports"), usersCollection);
+
+        Query missingKey = new Query(Criteria.where("dedupeKey").exists(false));
+        missingKey.fields().include("_id", "itemName", "itemCategory", "itemLocation", "itemDate");
+        int keyed = 0;
+        try (Stream<UserReport> reports = mongoTemplate.stream(missingKey, UserReport.class)) {
+            for (UserReport report : (Iterable<UserReport>) reports::iterator) {
+                String key = UserReport.dedupeKeyOf(report.getItemName(), report.getItemCategory(),
+                        report.getItemLocation(), report.getItemDate());
+                mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(new ObjectId(report.getId()))),
+                        new Update().set("dedupeKey", key), UserReport.class);
+                keyed++;
+            }
+        }
+        // Reports written before auditing have no createdAt. The feed cursor needs one on every report: null sorts
+        // after all dates, so a null-createdAt report ending a page would make the next page skip the rest.
+        // The ObjectId's creation second is the closest thing to the original time; one server-side update sets it.
+        long dated = mongoTemplate.updateMulti(
+                new Query(Criteria.where("createdAt").is(null)),
+                AggregationUpdate.update().set("createdAt").toValue(ConvertOperators.valueOf("id").convertToDate()),
+                UserReport.class).getModifiedCount();
+        log.info("Migrated report back-references for {} users, backfilled dedupeKey on {} and createdAt on {} reports",
+                owners, keyed, dated);
+    }
 
-        // Delete the report itself
-        userReportRepository.deleteById(objectId);
-        return true;
+    // Keyset pagination over (createdAt desc, _id desc). The cursor is opaque to clients.
+    public ReportPage<ReportSummary> getFeed(String cursor, Integer limit) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        Date afterCreatedAt = null;
+        ObjectId afterId = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            String[] parts = decodeCursor(cursor);
+            afterCreatedAt = new Date(Long.parseLong(parts[0]));
+            afterId = new ObjectId(parts[1]);
+        }
+
+        // Fetch one extra row to know whether another page exists
+        List<ReportSummary> rows = userReportRepository.findSummariesBefore(afterCreatedAt, afterId, pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        List<ReportSummary> items = hasMore ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            ReportSummary last = items.get(items.size() - 1);
+            nextCursor = encodeCursor(last.getCreatedAt(), last.getId());
+        }
+        return new ReportPage<>(new ArrayList<>(items), nextCursor, hasMore);
+    }
+
+    // Same keyset order and cursor as getFeed, restricted by filter, with facet counts over all matches.
+    // Facets are counted under every filter, including the field's own: with itemType=lost the itemType
+    // facet only has "lost", and the category counts are of lost reports.
+    public FilteredReports getFiltered(ReportFilter filter, String cursor, Integer limit) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        ReportFilter normalized = normalize(filter);
+
+        Date afterCreatedAt = null;
+        ObjectId afterId = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            String[] parts = decodeCursor(cursor);
+            afterCreatedAt = new Date(Long.parseLong(parts[0]));
+            afterId = new ObjectId(parts[1]);
+        }
+
+        FilteredReports result = userReportRepository.findFiltered(normalized, afterCreatedAt, afterId, pageSize + 1);
+        List<ReportSummary> rows = result.getItems();
+        boolean hasMore = rows.size() > pageSize;
+        List<ReportSummary> items = hasMore ? rows.subList(0, pageSize) : rows;
+        result.setItems(new ArrayList<>(items));
+        result.setHasMore(hasMore);
+        if (hasMore) {
+            ReportSummary last = items.get(items.size() - 1);
+            result.setNextCursor(encodeCursor(last.getCreatedAt(), last.getId()));
+        }
+        return result;
+    }
+
+    // Blank means "any"; itemType is stored lowercase; a point gets the /near default radius.
+    // Throws IllegalArgumentException for a bad date, point or radius.
+    private ReportFilter normalize(ReportFilter filter) {
+        ReportFilter normalized = new ReportFilter();
+        normalized.setItemType(blankToNull(filter.getItemType()) != null
+                ? filter.getItemType().trim().toLowerCase(Locale.ROOT) : null);
+        normalized.setItemCategory(blankToNull(filter.getItemCategory()));
+        normalized.setItemLocation(blankToNull(filter.getItemLocation()));
+        normalized.setDateFrom(parseDate(filter.getDateFrom()));
+        normalized.setDateTo(parseDate(filter.getDateTo()));
+        if (normalized.getDateFrom() != null && normalized.getDateTo() != null
+                && normalized.getDateFrom().compareTo(normalized.getDateTo()) > 0) {
+            throw new IllegalArgumentException("dateFrom is after dateTo");
+        }
+        if (filter.getLng() != null || filter.getLat() != null) {
+            if (filter.getLng() == null || filter.getLat() == null
+                    || !UserReport.validCoordinates(new GeoJsonPoint(filter.getLng(), filter.getLat()))) {
+                throw new IllegalArgumentException("Invalid coordinates");
+            }
+            double radius = filter.getRadiusKm() != null ? filter.getRadiusKm() * 1000 : DEFAULT_RADIUS_METERS;
+            if (!(radius > 0) || radius > MAX_RADIUS_METERS) {
+                throw new IllegalArgumentException("radiusKm must be above 0 and at most " + (int) (MAX_RADIUS_METERS / 1000));
+            }
+            normalized.setLng(filter.getLng());
+            normalized.setLat(filter.getLat());
+            normalized.setRadiusKm(radius / 1000);
+        }
+        return normalized;
     }
 
+    private static String blankToNull(String value) {
+        return value == null || value.trim().isEmpty() ? null : value.trim();
+    }
 
+    private static String parseDate(String value) {
+        String date = blankToNull(value);
+        if (date == null) return null;
+        try {
+            return LocalDate.parse(date).toString();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date: " + date);
+        }
+    }
 
+    // Nearest first from point, within radius metres or inside the within box. The cursor is the last
+    // distance returned plus how many reports at exactly that distance were already returned (reports
+    // pinned to the same spot tie), so each page starts where $geoNear left off instead of re-reading.
+    public ReportPage<ReportSummary> getNearby(GeoJsonPoint point, Double radius, GeoJsonPolygon within,
+                                               String cursor, Integer limit) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        double minDistance = 0;
+        int skip = 0;
+        if (cursor != null && !cursor.isEmpty()) {
+            String[] parts = decodeCursor(cursor);
+            minDistance = Double.parseDouble(parts[0]);
+            skip = Integer.parseInt(parts[1]);
+            if (!(minDistance >= 0) || skip < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
 
+        List<ReportSummary> rows = userReportRepository.findSummariesNear(point, minDistance, radius, within, skip, pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        List<ReportSummary> items = hasMore ? rows.subList(0, pageSize) : rows;
 
+        String nextCursor = null;
+        if (hasMore) {
+            double lastDistance = items.get(items.size() - 1).getDistance();
+            int atLastDistance = lastDistance == minDistance ? skip : 0;
+            for (ReportSummary item : items) {
+                if (item.getDistance() == lastDistance) atLastDistance++;
+            }
+            String raw = lastDistance + ":" + atLastDistance;
+            nextCursor = Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+        return new ReportPage<>(new ArrayList<>(items), nextCursor, hasMore);
+    }
 
+    // createdAt is set on every report (auditing, plus the migration backfill for older ones); the fallback is
+    // the value that backfill writes
+    private String encodeCursor(Date createdAt, String id) {
+        long time = createdAt != null ? createdAt.getTime() : new ObjectId(id).getDate().getTime();
+        String raw = time + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
 
+    private String[] decodeCursor(String cursor) {
+        String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        String[] parts = raw.split(":");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return parts;
+    }
 }
@@ -2,8 +2,14 @@ package com.laf.LostAndFound.services;
 
 import com.laf.LostAndFound.entity.User;
 import com.laf.LostAndFound.repository.UserRepository;
+import com.laf.LostAndFound.security.CustomUserDetailsService;
+import com.laf.LostAndFound.security.PasswordHashingService;
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -19,7 +25,13 @@ public class UserServices {
     private UserRepository userRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private CustomUserDetailsService customUserDetailsService;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
 
     public boolean userRegister(User user) {
         String userEmail = user.getEmail().toLowerCase();
@@ -29,20 +41,32 @@ public class UserServices {
             return false;
         }
         // Encode password before saving
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
+        user.setPassword(passwordHashingService.encode(user.getPassword()));
         // Save only if email not already in use
         userRepository.save(user);
+        customUserDetailsService.evict(user.getEmail());
         return true;
     }
 
 
     public boolean userLogin(String email, String password) {
         Optional<User> byEmail = userRepository.findByEmail(email);
-        if (byEmail.isPresent() && passwordEncoder.matches(password, byEmail.get().getPassword())) {
-            return true;
-        } else {
+        if (byEmail.isEmpty() || !passwordHashingService.matches(password, byEmail.get().getPassword())) {
             return false;
         }
+        User user = byEmail.get();
+        if (passwordHashingService.needsRehash(user.getPassword())) {
+            // Stored hash predates the current cost factor; upgrade it off the request path
+            passwordHashingService.encodeInBackground(password).thenAccept(upgraded -> {
+                mongoTemplate.updateFirst(
+                        new Query(Criteria.where("_id").is(new ObjectId(user.getId()))
+                                .and("password").is(user.getPassword())),
+                        new Update().set("password", upgraded).currentDate("updatedAt"),
+                        User.class);
+                customUserDetailsService.evict(user.getEmail());
+            });
+        }
+        return true;
     }
 
 
@@ -0,0 +1,52 @@
+package com.laf.LostAndFound.storage;
+
+import com.mongodb.client.gridfs.model.GridFSFile;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.gridfs.GridFsResource;
+import org.springframework.data.mongodb.gridfs.GridFsTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Optional;
+
+import static org.springframework.data.mongodb.core.query.Query.query;
+import static org.springframework.data.mongodb.gridfs.GridFsCriteria.whereFilename;
+
+@Component
+@ConditionalOnProperty(name = "photo.store", havingValue = "gridfs", matchIfMissing = true)
+public class GridFsPhotoStore implements PhotoStore {
+
+    @Autowired
+    private GridFsTemplate gridFsTemplate;
+
+    @Override
+    public String store(byte[] data, String contentType) {
+        String id = PhotoHashing.sha256(data);
+        if (!exists(id)) {
+            gridFsTemplate.store(new ByteArrayInputStream(data), id, contentType);
+        }
+        return id;
+    }
+
+    @Override
+    public Optional<StoredPhoto> load(String id) throws IOException {
+        GridFSFile file = gridFsTemplate.findOne(query(whereFilename().is(id)));
+        if (file == null) {
+            return Optional.empty();
+        }
+        GridFsResource resource = gridFsTemplate.getResource(file);
+        return Optional.of(new StoredPhoto(id, resource.getContentType(), file.getLength(), resource));
+    }
+
+    @Override
+    public boolean exists(String id) {
+        return gridFsTemplate.findOne(query(whereFilename().is(id))) != null;
+    }
+
+    @Override
+    public void delete(String id) {
+        gridFsTemplate.delete(query(whereFilename().is(id)));
+    }
+}
@@ -0,0 +1,172 @@
+package com.laf.LostAndFound.storage;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+
+public final class ImageResizer {
+
+    private static final float JPEG_QUALITY = 0.8f;
+    private static final int ORIENTATION_TAG = 0x0112;
+
+    private ImageResizer() {
+    }
+
+    // Returns null when ImageIO has no reader for the format. The size comes from the header, so an image
+    // of more than maxPixels is refused before any pixel is decoded; a small file can claim a huge canvas.
+    // Large originals are subsampled while decoding so the result is no bigger than needed for maxSize.
+    // The result is upright: EXIF orientation is applied.
+    public static BufferedImage decode(byte[] data, int maxSize, long maxPixels) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(new ByteArrayInputStream(data))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    throw new IOException("Image is " + width + "x" + height + ", above the " + maxPixels + " pixel limit");
+                }
+                ImageReadParam param = reader.getDefaultReadParam();
+                // Integer step, so the decoded image still covers maxSize on its longest side
+                int step = Math.max(1, Math.max(width, height) / Math.max(1, maxSize));
+                param.setSourceSubsampling(step, step, 0, 0);
+                return orient(reader.read(0, param), orientation(data));
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Scales so the longest side is at most maxSize (never upscales) and encodes as JPEG
+    public static byte[] toJpeg(BufferedImage source, int maxSize) throws IOException {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double scale = Math.min(1.0, (double) maxSize / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+
+        // JPEG has no alpha channel, so flatten onto white
+        BufferedImage target = new BufferedImage(targetWidth, targetHeight, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, targetWidth, targetHeight);
+            g.drawImage(source, 0, 0, targetWidth, targetHeight, null);
+        } finally {
+            g.dispose();
+        }
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.setOutput(ios);
+            writer.write(null, new IIOImage(target, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    // EXIF Orientation (1-8) of a JPEG, 1 when there is none. Phones store portrait shots sideways with 6 or 8.
+    static int orientation(byte[] data) {
+        if (data.length < 4 || (data[0] & 0xFF) != 0xFF || (data[1] & 0xFF) != 0xD8) {
+            return 1;
+        }
+        int pos = 2;
+        while (pos + 4 <= data.length && (data[pos] & 0xFF) == 0xFF) {
+            int marker = data[pos + 1] & 0xFF;
+            int length = ((data[pos + 2] & 0xFF) << 8) | (data[pos + 3] & 0xFF);
+            if (marker == 0xDA || length < 2) {
+                break; // Image data starts; metadata comes before it
+            }
+            int start = pos + 4;
+            int end = Math.min(data.length, pos + 2 + length);
+            if (marker == 0xE1 && end - start > 14 && data[start] == 'E' && data[start + 1] == 'x'
+                    && data[start + 2] == 'i' && data[start + 3] == 'f') {
+                return tiffOrientation(data, start + 6, end);
+            }
+            pos += 2 + length;
+        }
+        return 1;
+    }
+
+    // Looks for the Orientation tag in IFD0 of the TIFF structure inside the Exif segment
+    private static int tiffOrientation(byte[] data, int tiff, int end) {
+        boolean littleEndian = data[tiff] == 'I';
+        int ifd = tiff + readInt(data, tiff + 4, littleEndian);
+        if (ifd < tiff || ifd + 2 > end) return 1;
+        int entries = readShort(data, ifd, littleEndian);
+        for (int i = 0; i < entries; i++) {
+            int entry = ifd + 2 + i * 12;
+            if (entry + 12 > end) break;
+            if (readShort(data, entry, littleEndian) == ORIENTATION_TAG) {
+                int value = readShort(data, entry + 8, littleEndian);
+                return value >= 1 && value <= 8 ? value : 1;
+            }
+        }
+        return 1;
+    }
+
+    private static int readShort(byte[] data, int at, boolean littleEndian) {
+        int a = data[at] & 0xFF;
+        int b = data[at + 1] & 0xFF;
+        return littleEndian ? (b << 8) | a : (a << 8) | b;
+    }
+
+    private static int readInt(byte[] data, int at, boolean littleEndian) {
+        int high = readShort(data, littleEndian ? at + 2 : at, littleEndian);
+        int low = readShort(data, littleEndian ? at : at + 2, littleEndian);
+        return (high << 16) | low;
+    }
+
+    // Maps the stored pixels to how the camera meant them to be shown; 5-8 swap width and height
+    private static BufferedImage orient(BufferedImage image, int orientation) {
+        if (orientation == 1) return image;
+        int w = image.getWidth();
+        int h = image.getHeight();
+        // AffineTransform(m00, m10, m01, m11, m02, m12)
+        AffineTransform transform = switch (orientation) {
+            case 2 -> new AffineTransform(-1, 0, 0, 1, w, 0);   // mirrored
+            case 3 -> new AffineTransform(-1, 0, 0, -1, w, h);  // upside down
+            case 4 -> new AffineTransform(1, 0, 0, -1, 0, h);   // mirrored, upside down
+            case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0);    // transposed
+            case 6 -> new AffineTransform(0, 1, -1, 0, h, 0);   // turned 90 degrees clockwise
+            case 7 -> new AffineTransform(0, -1, -1, 0, h, w);  // transversed
+            case 8 -> new AffineTransform(0, -1, 1, 0, 0, w);   // turned 90 degrees counter-clockwise
+            default -> null;
+        };
+        if (transform == null) return image;
+        boolean swap = orientation >= 5;
+        BufferedImage target = new BufferedImage(swap ? h : w, swap ? w : h, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            g.drawImage(image, transform, null);
+        } finally {
+            g.dispose();
+        }
+        return target;
+    }
+}
@@ -0,0 +1,75 @@
+package com.laf.LostAndFound.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+// Stores photos as plain files under photo.local.dir, fanned out by the first two hash characters
+@Component
+@ConditionalOnProperty(name = "photo.store", havingValue = "local")
+public class LocalPhotoStore implements PhotoStore {
+
+    private final Path root;
+
+    public LocalPhotoStore(@Value("${photo.local.dir:./data/photos}") String dir) {
+        this.root = Paths.get(dir).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public String store(byte[] data, String contentType) throws IOException {
+        String id = PhotoHashing.sha256(data);
+        Path target = pathFor(id);
+        if (!Files.exists(target)) {
+            Files.createDirectories(target.getParent());
+            // Write to a temp file first so readers never see a half-written photo
+            Path tmp = Files.createTempFile(target.getParent(), id, ".tmp");
+            Files.write(tmp, data);
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return id;
+    }
+
+    @Override
+    public Optional<StoredPhoto> load(String id) throws IOException {
+        Path path = pathFor(id);
+        if (!Files.exists(path)) {
+            return Optional.empty();
+        }
+        String contentType;
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(path))) {
+            contentType = URLConnection.guessContentTypeFromStream(in);
+        }
+        if (contentType == null) {
+            contentType = "application/octet-stream";
+        }
+        return Optional.of(new StoredPhoto(id, contentType, Files.size(path), new FileSystemResource(path)));
+    }
+
+    @Override
+    public boolean exists(String id) {
+        return Files.exists(pathFor(id));
+    }
+
+    @Override
+    public void delete(String id) throws IOException {
+        Files.deleteIfExists(pathFor(id));
+    }
+
+    private Path pathFor(String id) {
+        if (!PhotoHashing.isValidId(id)) {
+            throw new IllegalArgumentException("Invalid photo id: " + id);
+        }
+        return root.resolve(id.substring(0, 2)).resolve(id);
+    }
+}
@@ -0,0 +1,23 @@
+package com.laf.LostAndFound.storage;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+public final class PhotoHashing {
+
+    private PhotoHashing() {
+    }
+
+    public static String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public static boolean isValidId(String id) {
+        return id != null && id.matches("[0-9a-f]{64}");
+    }
+}
@@ -0,0 +1,28 @@
+package com.laf.LostAndFound.storage;
+
+import com.laf.LostAndFound.services.PhotoRenditionServices;
+import com.laf.LostAndFound.services.PhotoServices;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+// One-off: start once with photo.migrate-on-startup=true to move legacy base64 photos out of userReports
+// and build renditions for photos that do not have them yet.
+// Safe to re-run; reports that were already migrated no longer match.
+@Component
+@ConditionalOnProperty(name = "photo.migrate-on-startup", havingValue = "true")
+public class PhotoMigrationRunner implements CommandLineRunner {
+
+    @Autowired
+    private PhotoServices photoServices;
+
+    @Autowired
+    private PhotoRenditionServices photoRenditionServices;
+
+    @Override
+    public void run(String... args) {
+        photoServices.migrateInlinePhotos();
+        photoRenditionServices.generateMissingRenditions();
+    }
+}
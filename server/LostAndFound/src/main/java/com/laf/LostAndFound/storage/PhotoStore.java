@@ -0,0 +1,16 @@
+package com.laf.LostAndFound.storage;
+
+import java.io.IOException;
+import java.util.Optional;
+
+// Binary storage for item photos. Ids are content hashes, so storing the same bytes twice is a no-op.
+public interface PhotoStore {
+
+    String store(byte[] data, String contentType) throws IOException;
+
+    Optional<StoredPhoto> load(String id) throws IOException;
+
+    boolean exists(String id);
+
+    void delete(String id) throws IOException;
+}
@@ -0,0 +1,14 @@
+package com.laf.LostAndFound.storage;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.springframework.core.io.Resource;
+
+@Data
+@AllArgsConstructor
+public class StoredPhoto {
+    private String id; // sha-256 of the bytes, doubles as the ETag
+    private String contentType;
+    private long length;
+    private Resource content;
+}
@@ -0,0 +1,62 @@
+package com.laf.LostAndFound.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Compares two JMH JSON result files (mvn -Pbenchmarks writes target/jmh-result.json) benchmark by
+// benchmark and exits with status 1 when any score is worse than the baseline by more than the threshold.
+// Throughput is better when higher; every other mode is a time, better when lower.
+//   java -cp <test classpath> com.laf.LostAndFound.benchmark.JmhResultComparator baseline.json target/jmh-result.json 10
+public class JmhResultComparator {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("usage: JmhResultComparator <baseline.json> <current.json> [threshold-percent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10;
+        ObjectMapper objectMapper = new ObjectMapper();
+        Map<String, JsonNode> baseline = byName(objectMapper.readTree(new File(args[0])));
+        Map<String, JsonNode> current = byName(objectMapper.readTree(new File(args[1])));
+
+        int regressions = 0;
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            JsonNode after = entry.getValue();
+            double afterScore = after.path("primaryMetric").path("score").asDouble();
+            String unit = after.path("primaryMetric").path("scoreUnit").asText();
+            if (before == null) {
+                System.out.printf("  new   %-90s %12.3f %s%n", entry.getKey(), afterScore, unit);
+                continue;
+            }
+            double beforeScore = before.path("primaryMetric").path("score").asDouble();
+            boolean higherIsBetter = "thrpt".equals(after.path("mode").asText());
+            double change = beforeScore == 0 ? 0 : (afterScore - beforeScore) / beforeScore * 100;
+            double worse = higherIsBetter ? -change : change;
+            boolean regressed = worse > threshold;
+            if (regressed) regressions++;
+            System.out.printf("%s %-90s %12.3f -> %12.3f %s (%+.1f%%)%n", regressed ? "  WORSE" : "       ",
+                    entry.getKey(), beforeScore, afterScore, unit, change);
+        }
+        System.out.printf("%d of %d benchmarks regressed by more than %.0f%%%n", regressions, current.size(), threshold);
+        System.exit(regressions > 0 ? 1 : 0);
+    }
+
+    // "ReportSerializationBenchmark.serialize endpoint=all format=json" -> result
+    private static Map<String, JsonNode> byName(JsonNode results) {
+        Map<String, JsonNode> byName = new LinkedHashMap<>();
+        for (JsonNode result : results) {
+            StringBuilder name = new StringBuilder(result.path("benchmark").asText().replace("com.laf.LostAndFound.benchmark.", ""));
+            Map<String, String> params = new TreeMap<>();
+            result.path("params").properties().forEach(param -> params.put(param.getKey(), param.getValue().asText()));
+            params.forEach((key, value) -> name.append(' ').append(key).append('=').append(value));
+            byName.put(name.toString(), result);
+        }
+        return byName;
+    }
+}
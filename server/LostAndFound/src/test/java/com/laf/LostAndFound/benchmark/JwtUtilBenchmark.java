@@ -0,0 +1,75 @@
+package com.laf.LostAndFound.benchmark;
+
+import com.laf.LostAndFound.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.security.Key;
+import java.util.Base64;
+import java.util.Date;
+
+// Token validation as done per request by JwtAuthenticationFilter.
+// "legacy" reproduces the previous JwtUtil: key rebuilt and token parsed three times per validation.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private static final String SECRET_KEY = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(new SimpleMeterRegistry());
+        token = jwtUtil.generateToken("student@campus.edu");
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtUtil.generateToken("student@campus.edu");
+    }
+
+    @Benchmark
+    public boolean validateLegacy() {
+        String username = legacyClaims(token).getSubject();
+        return username.equals(legacyClaims(token).getSubject())
+                && !legacyClaims(token).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public Claims validateCached() {
+        return jwtUtil.validate(token);
+    }
+
+    @Benchmark
+    public String parseOnce() {
+        // Shared parser and key, no verified-token cache
+        return jwtUtil.extractUsername(token);
+    }
+
+    private static Claims legacyClaims(String token) {
+        Key key = Keys.hmacShaKeyFor(Base64.getDecoder().decode(SECRET_KEY));
+        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(JwtUtilBenchmark.class.getSimpleName()).build()).run();
+    }
+}
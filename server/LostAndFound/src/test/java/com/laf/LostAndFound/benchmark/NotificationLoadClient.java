@@ -0,0 +1,106 @@
+package com.laf.LostAndFound.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Holds many idle /notifications/stream connections against a running server and reports how long
+// report-created events take to reach them (receive time minus the report's createdAt).
+// Create reports while it runs (UI or API). Run on the server's machine so the clocks agree:
+//   java -cp target/test-classes:target/classes:<test classpath> com.laf.LostAndFound.benchmark.NotificationLoadClient \
+//        http://localhost:9090 5000 120
+public class NotificationLoadClient {
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:9090";
+        int connections = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 60;
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        ExecutorService readers = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "sse-reader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(readers).build();
+        AtomicInteger connected = new AtomicInteger();
+        AtomicInteger refused = new AtomicInteger();
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/notifications/stream"))
+                .header("Accept", "text/event-stream")
+                .timeout(Duration.ofSeconds(30))
+                .build();
+        for (int i = 0; i < connections; i++) {
+            client.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream()).thenAccept(response -> {
+                if (response.statusCode() != 200) {
+                    refused.incrementAndGet();
+                    return;
+                }
+                connected.incrementAndGet();
+                readers.execute(() -> read(response.body(), objectMapper, latencies));
+            }).exceptionally(e -> {
+                refused.incrementAndGet();
+                return null;
+            });
+        }
+
+        long end = System.currentTimeMillis() + seconds * 1000L;
+        while (System.currentTimeMillis() < end) {
+            Thread.sleep(5000);
+            System.out.printf("connected %d, refused %d, events %d%n", connected.get(), refused.get(), latencies.size());
+        }
+
+        List<Long> sorted;
+        synchronized (latencies) {
+            sorted = new ArrayList<>(latencies);
+        }
+        Collections.sort(sorted);
+        if (sorted.isEmpty()) {
+            System.out.println("No report-created events received");
+        } else {
+            System.out.printf("delivery latency over %d deliveries: p50 %d ms, p99 %d ms, max %d ms%n", sorted.size(),
+                    sorted.get(sorted.size() / 2), sorted.get((int) (sorted.size() * 0.99)), sorted.get(sorted.size() - 1));
+        }
+        System.exit(0);
+    }
+
+    private static void read(InputStream body, ObjectMapper objectMapper, List<Long> latencies) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String event = null;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("event:")) {
+                    event = line.substring(6).trim();
+                } else if (line.startsWith("data:") && "report-created".equals(event)) {
+                    JsonNode report = objectMapper.readTree(line.substring(5));
+                    JsonNode createdAt = report.get("createdAt");
+                    if (createdAt != null && !createdAt.isNull()) {
+                        long sent = createdAt.isNumber() ? createdAt.asLong() : OffsetDateTime.parse(createdAt.asText()).toInstant().toEpochMilli();
+                        latencies.add(System.currentTimeMillis() - sent);
+                    }
+                } else if (line.isEmpty()) {
+                    event = null;
+                }
+            }
+        } catch (Exception e) {
+            // Connection closed by the server (timeout or shutdown)
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.laf.LostAndFound.benchmark;
+
+import com.laf.LostAndFound.security.PasswordHashingService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+// Login and registration cost: one BCrypt verify / hash through the bounded hashing pool.
+// strength 10 is security.bcrypt.strength; pass -p strength=... to price a change before making it.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class PasswordHashingBenchmark {
+
+    @Param({"10", "12"})
+    private int strength;
+
+    private PasswordHashingService passwordHashingService;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        passwordHashingService = new PasswordHashingService(new BCryptPasswordEncoder(strength), new SimpleMeterRegistry(), 1, 64, 60_000);
+        hash = passwordHashingService.encode("correct horse battery staple");
+    }
+
+    @TearDown
+    public void tearDown() {
+        passwordHashingService.shutdown();
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return passwordHashingService.matches("correct horse battery staple", hash);
+    }
+
+    @Benchmark
+    public String encode() {
+        return passwordHashingService.encode("correct horse battery staple");
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(PasswordHashingBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,72 @@
+package com.laf.LostAndFound.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Logging cost of one /user-reports/all response under concurrent requests.
+// "perItem" reproduces the previous controller: one autoflushed System.out line per report.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Threads(8)
+@Fork(1)
+public class ReportLoggingBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportLoggingBenchmark.class);
+
+    @Param({"100", "1000"})
+    private int reports;
+
+    private final List<String[]> rows = new ArrayList<>();
+    private PrintStream stdout;
+
+    @Setup
+    public void setUp() {
+        // Same locking and flushing as System.out, without the terminal cost
+        stdout = new PrintStream(OutputStream.nullOutputStream(), true);
+        for (int i = 0; i < reports; i++) {
+            rows.add(new String[] {Integer.toHexString(i), "Item " + i});
+        }
+    }
+
+    @Benchmark
+    public int perItem() {
+        stdout.println("All reports: " + rows.size());
+        for (String[] row : rows) {
+            stdout.println("Report ID: " + row[0] + ", Name: " + row[1]);
+        }
+        return rows.size();
+    }
+
+    @Benchmark
+    public int sampledSummary() {
+        if (ThreadLocalRandom.current().nextDouble() < 0.01) {
+            log.info("all returned {} reports", rows.size());
+        }
+        return rows.size();
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(ReportLoggingBenchmark.class.getSimpleName()).build()).run();
+    }
+}
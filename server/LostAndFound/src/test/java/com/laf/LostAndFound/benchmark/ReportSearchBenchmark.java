@@ -0,0 +1,90 @@
+package com.laf.LostAndFound.benchmark;
+
+import com.laf.LostAndFound.entity.UserReport;
+import com.laf.LostAndFound.search.ReportSearchIndex;
+import com.laf.LostAndFound.search.SearchHits;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+// /search/reports against the Lucene index vs. a case-insensitive substring scan over every report, which is
+// what findByItemNameContainingIgnoreCase makes Mongo do per request. SampleTime, so the JSON result has
+// p50/p99 per query as well as the mean.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class ReportSearchBenchmark {
+
+    private static final String[] NAMES = {"Black Wallet", "Blue Backpack", "iPhone 13", "Car Keys", "Water Bottle",
+            "Student ID Card", "Laptop Charger", "Umbrella", "Headphones", "Calculator"};
+    private static final String[] CATEGORIES = {"Accessories", "Bags", "Electronics", "Keys", "Documents"};
+    private static final String[] LOCATIONS = {"Library", "Cafeteria", "Main Gate", "Parking Lot", "Sports Hall"};
+    private static final String[] QUERIES = {"wallet", "backpack", "charger", "keys", "umbrella"};
+
+    @Param({"20000"})
+    private int reports;
+
+    private ReportSearchIndex index;
+    private List<UserReport> stored;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        Random random = new Random(42);
+        stored = new ArrayList<>();
+        for (int i = 0; i < reports; i++) {
+            UserReport report = new UserReport();
+            report.setId(new ObjectId());
+            report.setItemName(NAMES[random.nextInt(NAMES.length)] + " " + i);
+            report.setItemCategory(CATEGORIES[random.nextInt(CATEGORIES.length)]);
+            report.setItemLocation(LOCATIONS[random.nextInt(LOCATIONS.length)]);
+            report.setItemDescription("found near the " + LOCATIONS[random.nextInt(LOCATIONS.length)]);
+            stored.add(report);
+        }
+        index = new ReportSearchIndex();
+        index.open();
+        index.replaceAll(stored);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        index.close();
+    }
+
+    @Benchmark
+    public SearchHits index() throws IOException {
+        return index.search(QUERIES[next++ % QUERIES.length], 0, 20);
+    }
+
+    @Benchmark
+    public long regexScan() {
+        Pattern pattern = Pattern.compile(Pattern.quote(QUERIES[next++ % QUERIES.length]), Pattern.CASE_INSENSITIVE);
+        return stored.stream().filter(report -> pattern.matcher(report.getItemName()).find()).count();
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(ReportSearchBenchmark.class.getSimpleName()).build()).run();
+    }
+}
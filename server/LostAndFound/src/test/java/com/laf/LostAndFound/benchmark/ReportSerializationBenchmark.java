@@ -0,0 +1,177 @@
+package com.laf.LostAndFound.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.laf.LostAndFound.dto.ReportPage;
+import com.laf.LostAndFound.dto.ReportSummary;
+import com.laf.LostAndFound.entity.UserReport;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+// Serialization CPU and bytes on the wire for the report list endpoints, per format, with and without
+// gzip (what server.compression does above 2KB). "inline" photos are legacy reports that still carry a
+// base64 itemPhoto instead of photo URLs. main() prints the byte sizes before running JMH.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class ReportSerializationBenchmark {
+
+    private static final String[] CATEGORIES = {"Electronics", "Keys", "Bags", "Documents", "Clothing", "Wallets"};
+    private static final String[] LOCATIONS = {"Library", "Cafeteria", "Parking Lot", "Gym", "Lecture Hall B"};
+
+    // latest: 16 full reports, all: 1000 full reports, feed: a 20-item summary page
+    @Param({"latest", "all", "feed"})
+    private String endpoint;
+
+    @Param({"json", "smile", "cbor"})
+    private String format;
+
+    @Param({"urls", "inline"})
+    private String photos;
+
+    private ObjectMapper mapper;
+    private Object payload;
+
+    @Setup
+    public void setUp() {
+        mapper = mapper(format);
+        payload = payload(endpoint, photos);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return mapper.writeValueAsBytes(payload);
+    }
+
+    @Benchmark
+    public byte[] serializeGzip() throws IOException {
+        return gzip(mapper.writeValueAsBytes(payload));
+    }
+
+    // Same settings Boot applies to its JSON mapper, plus the non_null inclusion from application.properties
+    static ObjectMapper mapper(String format) {
+        JsonFactory factory = switch (format) {
+            case "smile" -> new SmileFactory();
+            case "cbor" -> new CBORFactory();
+            default -> new JsonFactory();
+        };
+        return Jackson2ObjectMapperBuilder.json()
+                .factory(factory)
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    static Object payload(String endpoint, String photos) {
+        boolean inline = "inline".equals(photos);
+        return switch (endpoint) {
+            case "latest" -> reports(16, inline);
+            case "all" -> reports(1000, inline);
+            // Summaries never carry the photo itself
+            default -> new ReportPage<>(summaries(20), new ObjectId().toHexString(), true);
+        };
+    }
+
+    private static List<UserReport> reports(int count, boolean inlinePhotos) {
+        Random random = new Random(42);
+        List<UserReport> reports = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            UserReport report = new UserReport();
+            report.setId(new ObjectId());
+            report.setItemType(random.nextBoolean() ? "Lost" : "Found");
+            report.setItemName("Item " + i + " " + CATEGORIES[random.nextInt(CATEGORIES.length)].toLowerCase());
+            report.setItemCategory(CATEGORIES[random.nextInt(CATEGORIES.length)]);
+            report.setItemLocation(LOCATIONS[random.nextInt(LOCATIONS.length)]);
+            report.setItemDate("2025-0" + (1 + random.nextInt(9)) + "-1" + random.nextInt(10));
+            report.setItemDescription("Black with a small scratch on the left side, last seen near the entrance around noon.");
+            if (inlinePhotos) {
+                // A phone photo after the client's resize: ~48KB of JPEG, already incompressible
+                byte[] jpeg = new byte[48 * 1024];
+                random.nextBytes(jpeg);
+                report.setItemPhoto("data:image/jpeg;base64," + Base64.getEncoder().encodeToString(jpeg));
+            } else {
+                report.setPhotoId(Long.toHexString(random.nextLong()) + Long.toHexString(random.nextLong()));
+                report.setThumbnailId(Long.toHexString(random.nextLong()) + Long.toHexString(random.nextLong()));
+                report.setMediumId(Long.toHexString(random.nextLong()) + Long.toHexString(random.nextLong()));
+            }
+            report.setEmail("student" + random.nextInt(500) + "@campus.edu");
+            report.setPhone("98765" + (10000 + random.nextInt(89999)));
+            report.setCreatedAt(new Date(1_700_000_000_000L + i * 60_000L));
+            report.setUpdatedAt(report.getCreatedAt());
+            reports.add(report);
+        }
+        return reports;
+    }
+
+    private static List<ReportSummary> summaries(int count) {
+        List<ReportSummary> summaries = new ArrayList<>();
+        for (UserReport report : reports(count, false)) {
+            ReportSummary summary = new ReportSummary();
+            summary.setId(new ObjectId(report.getId()));
+            summary.setItemType(report.getItemType());
+            summary.setItemName(report.getItemName());
+            summary.setItemCategory(report.getItemCategory());
+            summary.setItemLocation(report.getItemLocation());
+            summary.setItemDate(report.getItemDate());
+            summary.setEmail(report.getEmail());
+            summary.setPhone(report.getPhone());
+            summary.setPhotoId(report.getPhotoId());
+            summary.setThumbnailId(report.getThumbnailId());
+            summary.setMediumId(report.getMediumId());
+            summary.setCreatedAt(report.getCreatedAt());
+            summaries.add(summary);
+        }
+        return summaries;
+    }
+
+    static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+
+    public static void main(String[] args) throws Exception {
+        for (String photos : new String[] {"urls", "inline"}) {
+            for (String endpoint : new String[] {"latest", "all", "feed"}) {
+                for (String format : new String[] {"json", "smile", "cbor"}) {
+                    byte[] body = mapper(format).writeValueAsBytes(payload(endpoint, photos));
+                    System.out.printf("%-6s %-6s %-5s %10d bytes, gzip %10d bytes%n", photos, endpoint, format,
+                            body.length, gzip(body).length);
+                }
+            }
+        }
+        new Runner(new OptionsBuilder().include(ReportSerializationBenchmark.class.getSimpleName()).build()).run();
+    }
+}
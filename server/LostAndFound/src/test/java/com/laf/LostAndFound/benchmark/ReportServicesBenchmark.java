@@ -0,0 +1,132 @@
+package com.laf.LostAndFound.benchmark;
+
+import com.laf.LostAndFound.entity.UserReport;
+import com.laf.LostAndFound.repository.UserReportRepository;
+import com.laf.LostAndFound.repository.UserRepository;
+import com.laf.LostAndFound.services.ReportStatsServices;
+import com.laf.LostAndFound.services.UserReportServices;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Service-side CPU of two hot paths, with Mongo replaced by in-memory stand-ins (so a real request adds
+// one indexed round trip on top):
+//  - addEntry rejecting a duplicate report (the email + dedupeKey existence check)
+//  - category statistics from the in-memory counters vs. grouping every report per request
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class ReportServicesBenchmark {
+
+    private static final String[] CATEGORIES = {"Electronics", "Keys", "Bags", "Documents", "Clothing", "Wallets"};
+    private static final String[] LOCATIONS = {"Library", "Cafeteria", "Parking Lot", "Gym", "Lecture Hall B"};
+
+    @Param({"10000"})
+    private int reports;
+
+    private UserReportServices userReportServices;
+    private ReportStatsServices reportStatsServices;
+    private List<UserReport> stored;
+    private UserReport duplicate;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        stored = new ArrayList<>();
+        Set<String> dedupeKeys = new HashSet<>();
+        for (int i = 0; i < reports; i++) {
+            UserReport report = new UserReport();
+            report.setItemType(random.nextBoolean() ? "Lost" : "Found");
+            report.setItemName("Item " + i);
+            report.setItemCategory(CATEGORIES[random.nextInt(CATEGORIES.length)]);
+            report.setItemLocation(LOCATIONS[random.nextInt(LOCATIONS.length)]);
+            report.setItemDate("2025-06-" + (10 + random.nextInt(20)));
+            report.setEmail("student" + random.nextInt(500) + "@campus.edu");
+            stored.add(report);
+            dedupeKeys.add(report.getEmail() + "|" + UserReport.dedupeKeyOf(report.getItemName(),
+                    report.getItemCategory(), report.getItemLocation(), report.getItemDate()));
+        }
+
+        userReportServices = new UserReportServices();
+        ReflectionTestUtils.setField(userReportServices, "userRepository", stub(UserRepository.class,
+                (name, args) -> name.equals("existsByEmail") ? Boolean.TRUE : null));
+        ReflectionTestUtils.setField(userReportServices, "userReportRepository", stub(UserReportRepository.class,
+                (name, args) -> name.equals("existsByEmailAndDedupeKey") ? dedupeKeys.contains(args[0] + "|" + args[1]) : null));
+
+        UserReport existing = stored.get(reports / 2);
+        duplicate = new UserReport();
+        duplicate.setItemName(existing.getItemName().toUpperCase());
+        duplicate.setItemCategory(existing.getItemCategory());
+        duplicate.setItemLocation(existing.getItemLocation());
+        duplicate.setItemDate(existing.getItemDate());
+        duplicate.setEmail(existing.getEmail());
+
+        reportStatsServices = new ReportStatsServices();
+        stored.forEach(reportStatsServices::recordAdded);
+        ReflectionTestUtils.setField(reportStatsServices, "ready", true);
+    }
+
+    @Benchmark
+    public boolean addEntryDuplicate() {
+        return userReportServices.addEntry(duplicate, duplicate.getEmail());
+    }
+
+    @Benchmark
+    public Map<String, Long> categoryStatsFromCounters() {
+        return reportStatsServices.getCategoryStats();
+    }
+
+    @Benchmark
+    public Map<String, Long> categoryStatsGroupingAll() {
+        return stored.stream().collect(Collectors.groupingBy(UserReport::getItemCategory, Collectors.counting()));
+    }
+
+    @Benchmark
+    public void recordAddedAndRemoved() {
+        UserReport report = stored.get(0);
+        reportStatsServices.recordAdded(report);
+        reportStatsServices.recordRemoved(report);
+    }
+
+    private interface Answer {
+        Object answer(String method, Object[] args);
+    }
+
+    // Repository interfaces answered by a lambda; any call the benchmark does not expect fails loudly
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type, Answer answer) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+            Object result = answer.answer(method.getName(), args);
+            if (result == null) throw new UnsupportedOperationException(method.getName());
+            return result;
+        });
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(ReportServicesBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,96 @@
+package com.laf.LostAndFound.config;
+
+import com.laf.LostAndFound.entity.User;
+import com.laf.LostAndFound.entity.UserReport;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QueryPlanVerifierTest {
+
+    @Test
+    void readsStagesFromTheWinningPlanOnly() {
+        Document explain = Document.parse("{queryPlanner: {"
+                + "winningPlan: {stage: 'LIMIT', inputStage: {stage: 'FETCH', inputStage: {stage: 'IXSCAN', indexName: 'createdAt_id_desc'}}},"
+                + "rejectedPlans: [{stage: 'SORT', inputStage: {stage: 'COLLSCAN'}}]}}");
+
+        assertEquals(Set.of("LIMIT", "FETCH", "IXSCAN"), QueryPlanVerifier.winningStages(explain));
+    }
+
+    @Test
+    void findsCollectionScansInOrBranchesAndSlotBasedPlans() {
+        Document orPlan = Document.parse("{queryPlanner: {winningPlan: {stage: 'SUBPLAN', inputStage: {stage: 'FETCH',"
+                + "inputStage: {stage: 'OR', inputStages: [{stage: 'IXSCAN'}, {stage: 'COLLSCAN'}]}}}}}");
+        Document sbePlan = Document.parse("{queryPlanner: {winningPlan: {queryPlan: {stage: 'COLLSCAN'},"
+                + "slotBasedPlan: {slots: '', stages: '[1] scan s1'}}}}");
+
+        assertTrue(QueryPlanVerifier.winningStages(orPlan).contains("COLLSCAN"));
+        assertEquals(Set.of("COLLSCAN"), QueryPlanVerifier.winningStages(sbePlan));
+    }
+
+    @Test
+    void findsStagesOnEveryShard() {
+        Document explain = Document.parse("{queryPlanner: {winningPlan: {stage: 'SHARD_MERGE', shards: ["
+                + "{shardName: 'a', winningPlan: {stage: 'FETCH', inputStage: {stage: 'IXSCAN'}}},"
+                + "{shardName: 'b', winningPlan: {stage: 'SORT', inputStage: {stage: 'COLLSCAN'}}}]}}}");
+
+        assertTrue(QueryPlanVerifier.winningStages(explain).containsAll(Set.of("IXSCAN", "SORT", "COLLSCAN")));
+    }
+
+    // Against a real mongod, e.g. MONGODB_TEST_URI=mongodb://localhost:27017; uses a throwaway database
+    @Test
+    @EnabledIfEnvironmentVariable(named = "MONGODB_TEST_URI", matches = ".+")
+    void everyQueryShapeUsesAnIndex() {
+        try (MongoClient client = MongoClients.create(System.getenv("MONGODB_TEST_URI"))) {
+            MongoTemplate mongoTemplate = new MongoTemplate(client, "laf_query_plans_" + new ObjectId());
+            try {
+                createDeclaredIndexes(mongoTemplate, UserReport.class);
+                createDeclaredIndexes(mongoTemplate, User.class);
+                for (int i = 0; i < 200; i++) {
+                    UserReport report = new UserReport();
+                    report.setItemType(i % 2 == 0 ? "lost" : "found");
+                    report.setItemName("Item " + i);
+                    report.setItemCategory(i % 3 == 0 ? "Electronics" : "Bags");
+                    report.setItemLocation(i % 4 == 0 ? "Library" : "Cafeteria");
+                    report.setItemDate("2024-01-" + (10 + i % 20));
+                    report.setEmail("owner" + (i % 20) + "@campus.edu");
+                    report.setDedupeKey("item " + i + "|bags|library|2024-01-01");
+                    report.setPhotoId(i % 2 == 0 ? Integer.toHexString(i) : null);
+                    report.setCreatedAt(new Date(1_700_000_000_000L + i * 60_000L));
+                    mongoTemplate.insert(report);
+                }
+                User user = new User();
+                user.setEmail("owner0@campus.edu");
+                mongoTemplate.insert(user);
+
+                QueryPlanVerifier verifier = new QueryPlanVerifier();
+                ReflectionTestUtils.setField(verifier, "mongoTemplate", mongoTemplate);
+
+                assertEquals(List.of(), verifier.verify());
+            } finally {
+                mongoTemplate.getDb().drop();
+            }
+        }
+    }
+
+    private static void createDeclaredIndexes(MongoTemplate mongoTemplate, Class<?> entity) {
+        MongoMappingContext mappingContext = (MongoMappingContext) mongoTemplate.getConverter().getMappingContext();
+        IndexOperations indexOps = mongoTemplate.indexOps(entity);
+        new MongoPersistentEntityIndexResolver(mappingContext).resolveIndexFor(entity).forEach(indexOps::createIndex);
+    }
+}
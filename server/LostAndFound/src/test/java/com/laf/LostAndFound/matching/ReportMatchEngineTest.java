@@ -0,0 +1,217 @@
+package com.laf.LostAndFound.matching;
+
+import com.laf.LostAndFound.entity.UserReport;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReportMatchEngineTest {
+
+    private static final String[] NAMES = {"Black Wallet", "Blue Backpack", "iPhone 13", "Car Keys", "Water Bottle",
+            "Student ID Card", "Laptop Charger", "Umbrella", "Headphones", "Calculator"};
+    private static final String[] CATEGORIES = {"Accessories", "Bags", "Electronics", "Keys", "Documents"};
+    private static final String[] LOCATIONS = {"Library", "Cafeteria", "Main Gate", "Parking Lot", "Sports Hall"};
+
+    private ReportMatchEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new ReportMatchEngine(14, 10, 0.35, 1000);
+        engine.replaceAll(List.of());
+    }
+
+    @Test
+    void pairsLostWithFoundInBothDirections() {
+        UserReport lost = report("lost", "iPhone 13", "Electronics", "Library", "2024-03-01", "blue case, cracked screen");
+        UserReport found = report("found", "I phone13", "Electronics", "Library", "2024-03-02", "phone with blue case");
+        UserReport otherCategory = report("found", "iPhone 13", "Accessories", "Library", "2024-03-02", null);
+        UserReport tooLate = report("found", "iPhone 13", "Electronics", "Library", "2024-05-01", null);
+        UserReport sameType = report("lost", "iPhone 13", "Electronics", "Library", "2024-03-01", null);
+
+        engine.upsert(lost);
+        engine.upsert(otherCategory);
+        engine.upsert(tooLate);
+        engine.upsert(sameType);
+        List<MatchCandidate> fromFound = engine.upsert(found);
+
+        assertEquals(List.of(found.getId()), ids(engine.matchesFor(lost.getId())));
+        assertEquals(List.of(lost.getId(), sameType.getId()), ids(fromFound));
+        assertTrue(fromFound.get(0).getScore() > fromFound.get(1).getScore());
+    }
+
+    @Test
+    void deletingAReportRemovesItFromOtherLists() {
+        UserReport lost = report("lost", "Black Wallet", "Accessories", "Cafeteria", "2024-03-01", "leather");
+        UserReport found = report("found", "Black Wallet", "Accessories", "Cafeteria", "2024-03-01", "leather");
+        engine.upsert(lost);
+        engine.upsert(found);
+
+        engine.remove(found.getId());
+
+        assertEquals(List.of(), engine.matchesFor(lost.getId()));
+        assertEquals(List.of(), engine.matchesFor(found.getId()));
+    }
+
+    @Test
+    void movingAReportDropsItFromListsItDoesNotRankBack() {
+        ReportMatchEngine engine = new ReportMatchEngine(14, 1, 0.35, 1000);
+        engine.replaceAll(List.of());
+        UserReport found = report("found", "Black Wallet", "Accessories", "Cafeteria", "2024-03-01", "leather");
+        UserReport closer = report("lost", "Black Wallet", "Accessories", "Cafeteria", "2024-03-01", "leather");
+        UserReport weaker = report("lost", "Black Wallet", "Accessories", "Library", "2024-03-05", null);
+        engine.upsert(found);
+        engine.upsert(closer);
+        engine.upsert(weaker);
+        assertEquals(List.of(closer.getId()), ids(engine.matchesFor(found.getId())));
+        assertEquals(List.of(found.getId()), ids(engine.matchesFor(weaker.getId())));
+
+        found.setItemCategory("Bags");
+        engine.upsert(found);
+
+        assertEquals(List.of(), engine.matchesFor(closer.getId()));
+        assertEquals(List.of(), engine.matchesFor(weaker.getId()));
+    }
+
+    @Test
+    void writesDuringARebuildAreReplayedOntoIt() {
+        UserReport lost = report("lost", "Car Keys", "Keys", "Parking Lot", "2024-03-01", "toyota key");
+        UserReport gone = report("found", "Car Keys", "Keys", "Parking Lot", "2024-03-01", "toyota key");
+        UserReport found = report("found", "Car Key", "Keys", "Parking Lot", "2024-03-02", null);
+
+        // The save and delete run on another thread while the cursor is being read; they must not wait for it
+        engine.replaceAll(Stream.of(lost, gone).peek(report -> {
+            if (report == gone) onOtherThread(() -> {
+                engine.upsert(found);
+                engine.remove(gone.getId());
+            });
+        })::iterator);
+
+        assertEquals(List.of(found.getId()), ids(engine.matchesFor(lost.getId())));
+        assertEquals(List.of(), engine.matchesFor(gone.getId()));
+    }
+
+    @Test
+    void updatesReRankCandidates() {
+        UserReport lost = report("lost", "Car Keys", "Keys", "Parking Lot", "2024-03-01", "toyota key with red ring");
+        UserReport found = report("found", "Water Bottle", "Keys", "Parking Lot", "2024-03-01", null);
+        engine.upsert(lost);
+        engine.upsert(found);
+        assertEquals(List.of(), engine.matchesFor(lost.getId()));
+
+        found.setItemName("Car Key");
+        engine.upsert(found);
+
+        assertEquals(List.of(found.getId()), ids(engine.matchesFor(lost.getId())));
+    }
+
+    @Test
+    void nearbyPinsCountAsTheSamePlace() {
+        UserReport lost = report("lost", "Black Wallet", "Accessories", "Library", "2024-03-01", "leather");
+        lost.setCoordinates(new GeoJsonPoint(72.5714, 23.0225));
+        UserReport pinnedNearby = report("found", "Black Wallet", "Accessories", "North entrance", "2024-03-01", "leather");
+        pinnedNearby.setCoordinates(new GeoJsonPoint(72.5718, 23.0227));
+        UserReport pinnedFarAway = report("found", "Black Wallet", "Accessories", "Bus depot", "2024-03-01", "leather");
+        pinnedFarAway.setCoordinates(new GeoJsonPoint(72.6100, 23.0500));
+        engine.upsert(pinnedFarAway);
+        engine.upsert(pinnedNearby);
+
+        List<MatchCandidate> candidates = engine.upsert(lost);
+
+        assertEquals(List.of(pinnedNearby.getId(), pinnedFarAway.getId()), ids(candidates));
+        assertTrue(candidates.get(0).getScore() > candidates.get(1).getScore());
+    }
+
+    @Test
+    void rebuildMatchesIncrementalResults() {
+        List<UserReport> reports = generate(2_000, new Random(7));
+        for (UserReport report : reports) {
+            engine.upsert(report);
+        }
+        ReportMatchEngine rebuilt = new ReportMatchEngine(14, 10, 0.35, 1000);
+        rebuilt.replaceAll(reports);
+
+        for (UserReport report : reports) {
+            assertEquals(scores(engine.matchesFor(report.getId())), scores(rebuilt.matchesFor(report.getId())), report.getId());
+        }
+    }
+
+    @Test
+    void evaluatesANewReportInMilliseconds() {
+        Random random = new Random(42);
+        engine.replaceAll(generate(20_000, random));
+
+        List<UserReport> incoming = generate(500, random);
+        long[] nanos = new long[incoming.size()];
+        for (int i = 0; i < incoming.size(); i++) {
+            long start = System.nanoTime();
+            engine.upsert(incoming.get(i));
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        long p99 = nanos[(int) (nanos.length * 0.99)];
+        System.out.printf("match p99: %.2f ms (20000 open reports)%n", p99 / 1e6);
+        assertTrue(p99 < 50_000_000L, "p99 " + p99 / 1e6 + " ms");
+    }
+
+    private static List<UserReport> generate(int count, Random random) {
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        List<UserReport> reports = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            reports.add(report(random.nextBoolean() ? "lost" : "found",
+                    NAMES[random.nextInt(NAMES.length)],
+                    CATEGORIES[random.nextInt(CATEGORIES.length)],
+                    LOCATIONS[random.nextInt(LOCATIONS.length)],
+                    start.plusDays(random.nextInt(365)).toString(),
+                    "item number " + random.nextInt(100)));
+        }
+        return reports;
+    }
+
+    private static UserReport report(String type, String name, String category, String location, String date,
+                                     String description) {
+        UserReport report = new UserReport();
+        report.setId(new ObjectId());
+        report.setItemType(type);
+        report.setItemName(name);
+        report.setItemCategory(category);
+        report.setItemLocation(location);
+        report.setItemDate(date);
+        report.setItemDescription(description);
+        return report;
+    }
+
+    private static void onOtherThread(Runnable work) {
+        Thread thread = new Thread(work);
+        thread.start();
+        try {
+            thread.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        assertFalse(thread.isAlive(), "write blocked behind the rebuild");
+    }
+
+    private static List<String> ids(List<MatchCandidate> candidates) {
+        List<String> ids = new ArrayList<>();
+        candidates.forEach(candidate -> ids.add(candidate.getReportId()));
+        return ids;
+    }
+
+    private static List<Double> scores(List<MatchCandidate> candidates) {
+        List<Double> scores = new ArrayList<>();
+        candidates.forEach(candidate -> scores.add(candidate.getScore()));
+        return scores;
+    }
+}
@@ -0,0 +1,164 @@
+package com.laf.LostAndFound.notifications;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReportEventHubTest {
+
+    private ReportEventHub hub;
+
+    @AfterEach
+    void tearDown() {
+        hub.shutdown();
+    }
+
+    @Test
+    void deliversByCategoryLocationAndRecipient() throws Exception {
+        hub = new ReportEventHub(new SimpleMeterRegistry(), 2, 100, 100);
+        RecordingSink everything = subscribe(null, null, null);
+        RecordingSink keys = subscribe(Set.of("Keys"), null, null);
+        RecordingSink libraryBags = subscribe(Set.of("bags"), Set.of("Library"), null);
+        RecordingSink owner = subscribe(Set.of("documents"), null, "Owner@campus.edu");
+
+        hub.publish(event("report-created", "keys", "parking lot", null));
+        hub.publish(event("report-created", "bags", "library", null));
+        hub.publish(event("match-found", null, null, "owner@campus.edu"));
+
+        eventually(() -> {
+            assertEquals(List.of("report-created", "report-created"), everything.events());
+            assertEquals(List.of("report-created"), keys.events());
+            assertEquals(List.of("report-created"), libraryBags.events());
+            assertEquals(List.of("match-found"), owner.events());
+        });
+    }
+
+    @Test
+    void dropsBrokenConnectionsAndCapsSubscribers() throws Exception {
+        hub = new ReportEventHub(new SimpleMeterRegistry(), 1, 100, 2);
+        RecordingSink broken = subscribe(null, null, null);
+        broken.fail = true;
+        subscribe(null, null, null);
+        assertNull(hub.subscribe(new SubscriptionFilter(null, null, null), new RecordingSink()));
+
+        hub.publish(event("report-created", "keys", "library", null));
+
+        eventually(() -> {
+            assertTrue(broken.closed);
+            assertEquals(1, hub.subscriberCount());
+        });
+    }
+
+    // Fan-out to many idle in-process subscribers; the socket side is covered by NotificationLoadClient
+    @Test
+    void broadcastLatencyWithThousandsOfSubscribers() throws Exception {
+        int subscribers = 10_000;
+        int events = 50;
+        hub = new ReportEventHub(new SimpleMeterRegistry(), 4, 1000, subscribers);
+        CountDownLatch delivered = new CountDownLatch(subscribers * events);
+        long[] publishedAt = new long[events];
+        // Each subscriber keeps its own arrival times so the measurement adds no shared lock
+        long[][] arrivals = new long[subscribers][events];
+        for (int i = 0; i < subscribers; i++) {
+            long[] mine = arrivals[i];
+            hub.subscribe(new SubscriptionFilter(null, null, null), new EventSink() {
+                @Override
+                public void send(String eventName, String data) {
+                    mine[Integer.parseInt(data)] = System.nanoTime();
+                    delivered.countDown();
+                }
+
+                @Override
+                public void ping() {
+                }
+
+                @Override
+                public void close() {
+                }
+            });
+        }
+
+        for (int i = 0; i < events; i++) {
+            publishedAt[i] = System.nanoTime();
+            hub.publish(new ReportEvent("report-created", Set.of("keys"), Set.of("library"), null, Integer.toString(i)));
+            Thread.sleep(20);
+        }
+        assertTrue(delivered.await(30, TimeUnit.SECONDS));
+
+        long[] latencies = new long[events];
+        for (int i = 0; i < events; i++) {
+            long last = 0;
+            for (long[] subscriber : arrivals) {
+                last = Math.max(last, subscriber[i]);
+            }
+            latencies[i] = last - publishedAt[i];
+        }
+        Arrays.sort(latencies);
+        System.out.printf("broadcast to %d subscribers, time until the last one has it: p50 %.2f ms, p99 %.2f ms%n", subscribers,
+                latencies[events / 2] / 1e6, latencies[(int) (events * 0.99)] / 1e6);
+    }
+
+    private RecordingSink subscribe(Set<String> categories, Set<String> locations, String email) {
+        RecordingSink sink = new RecordingSink();
+        hub.subscribe(new SubscriptionFilter(categories, locations, email), sink);
+        return sink;
+    }
+
+    private static ReportEvent event(String name, String category, String location, String recipient) {
+        return new ReportEvent(name,
+                category != null ? Set.of(category) : Set.of(),
+                location != null ? Set.of(location) : Set.of(),
+                recipient, "{}");
+    }
+
+    // Delivery is asynchronous; retry the assertion until the lanes have caught up
+    private static void eventually(Runnable assertion) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (true) {
+            try {
+                assertion.run();
+                return;
+            } catch (AssertionError e) {
+                if (System.currentTimeMillis() > deadline) throw e;
+                Thread.sleep(10);
+            }
+        }
+    }
+
+    private static class RecordingSink implements EventSink {
+        private final List<String> events = new ArrayList<>();
+        volatile boolean fail;
+        volatile boolean closed;
+
+        @Override
+        public synchronized void send(String eventName, String data) throws IOException {
+            if (fail) throw new IOException("connection reset");
+            events.add(eventName);
+        }
+
+        synchronized List<String> events() {
+            return new ArrayList<>(events);
+        }
+
+        @Override
+        public void ping() {
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
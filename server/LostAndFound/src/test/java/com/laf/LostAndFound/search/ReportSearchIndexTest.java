@@ -0,0 +1,65 @@
+package com.laf.LostAndFound.search;
+
+import com.laf.LostAndFound.entity.UserReport;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReportSearchIndexTest {
+
+    private ReportSearchIndex index;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        index = new ReportSearchIndex();
+        index.open();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        index.close();
+    }
+
+    @Test
+    void matchesTyposPrefixesAndOtherFields() throws Exception {
+        UserReport wallet = report("Black Wallet", "Accessories", "Library", "leather wallet with cards");
+        UserReport phone = report("iPhone 13", "Electronics", "Cafeteria", "blue case");
+        index.replaceAll(List.of(wallet, phone));
+
+        assertEquals(List.of(wallet.getId()), index.search("walet", 0, 10).getIds());
+        assertEquals(List.of(phone.getId()), index.search("ipho", 0, 10).getIds());
+        assertEquals(List.of(wallet.getId()), index.search("library", 0, 10).getIds());
+        assertEquals(List.of(phone.getId()), index.search("blue case", 0, 10).getIds());
+        assertEquals(List.of("Black Wallet"), index.suggest("bla", 5));
+
+        index.remove(wallet.getId());
+        assertTrue(index.search("wallet", 0, 10).getIds().isEmpty());
+    }
+
+    @Test
+    void rebuildDoesNotDuplicateReportsIndexedMeanwhile() throws Exception {
+        UserReport wallet = report("Black Wallet", "Accessories", "Library", "leather wallet with cards");
+        // Saved while the startup rebuild runs: indexed directly, then returned again by the rebuild cursor
+        index.index(wallet);
+        index.replaceAll(List.of(wallet));
+
+        assertEquals(List.of(wallet.getId()), index.search("wallet", 0, 10).getIds());
+        assertEquals(1, index.search("wallet", 0, 10).getTotal());
+    }
+
+    private static UserReport report(String name, String category, String location, String description) {
+        UserReport report = new UserReport();
+        report.setId(new ObjectId());
+        report.setItemName(name);
+        report.setItemCategory(category);
+        report.setItemLocation(location);
+        report.setItemDescription(description);
+        return report;
+    }
+}
@@ -0,0 +1,71 @@
+package com.laf.LostAndFound.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+
+    @Test
+    void allowsBurstThenRefillsAtTheConfiguredRate() {
+        RateLimiter limiter = new RateLimiter(6, 100, now::get);
+        for (int i = 0; i < 6; i++) {
+            assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+        }
+        long wait = limiter.tryAcquire("10.0.0.1");
+        assertEquals(TimeUnit.SECONDS.toNanos(10), wait);
+        // Other keys have their own bucket
+        assertEquals(0, limiter.tryAcquire("10.0.0.2"));
+
+        now.addAndGet(wait);
+        assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+        assertTrue(limiter.tryAcquire("10.0.0.1") > 0);
+
+        now.addAndGet(TimeUnit.MINUTES.toNanos(1));
+        for (int i = 0; i < 6; i++) {
+            assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+        }
+    }
+
+    @Test
+    void zeroDisablesTheLimit() {
+        RateLimiter limiter = new RateLimiter(0, 100, now::get);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(0, limiter.tryAcquire("10.0.0.1"));
+        }
+    }
+
+    @Test
+    void grantsExactlyTheQuotaUnderContention() throws Exception {
+        RateLimiter limiter = new RateLimiter(500, 100, now::get);
+        AtomicInteger granted = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < 8; t++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 1000; i++) {
+                    if (limiter.tryAcquire("victim@campus.edu") == 0) granted.incrementAndGet();
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(500, granted.get());
+    }
+}
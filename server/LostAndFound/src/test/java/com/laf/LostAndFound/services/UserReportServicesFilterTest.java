@@ -0,0 +1,180 @@
+package com.laf.LostAndFound.services;
+
+import com.laf.LostAndFound.dto.FilteredReports;
+import com.laf.LostAndFound.dto.ReportFilter;
+import com.laf.LostAndFound.dto.ReportSummary;
+import com.laf.LostAndFound.entity.UserReport;
+import com.laf.LostAndFound.repository.UserReportRepository;
+import com.laf.LostAndFound.repository.UserReportRepositoryImpl;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserReportServicesFilterTest {
+
+    private UserReportServices userReportServices;
+    // What the last findFiltered call received, and what it answers with
+    private ReportFilter lastFilter;
+    private Date lastCreatedAt;
+    private ObjectId lastId;
+    private int lastLimit;
+    private List<ReportSummary> rows;
+
+    @BeforeEach
+    void setUp() {
+        rows = new ArrayList<>();
+        userReportServices = new UserReportServices();
+        UserReportRepository repository = (UserReportRepository) Proxy.newProxyInstance(
+                UserReportRepository.class.getClassLoader(), new Class<?>[] {UserReportRepository.class},
+                (proxy, method, args) -> {
+                    if (!method.getName().equals("findFiltered")) throw new UnsupportedOperationException(method.getName());
+                    lastFilter = (ReportFilter) args[0];
+                    lastCreatedAt = (Date) args[1];
+                    lastId = (ObjectId) args[2];
+                    lastLimit = (Integer) args[3];
+                    List<ReportSummary> page = new ArrayList<>(rows.subList(0, Math.min(lastLimit, rows.size())));
+                    return new FilteredReports(page, null, false, rows.size(), new HashMap<>());
+                });
+        ReflectionTestUtils.setField(userReportServices, "userReportRepository", repository);
+    }
+
+    @Test
+    void normalizesFilters() {
+        ReportFilter filter = new ReportFilter();
+        filter.setItemType(" Lost ");
+        filter.setItemCategory("  ");
+        filter.setItemLocation(" Library ");
+        filter.setDateFrom("2024-01-05");
+
+        userReportServices.getFiltered(filter, null, null);
+
+        assertEquals("lost", lastFilter.getItemType());
+        assertNull(lastFilter.getItemCategory());
+        assertEquals("Library", lastFilter.getItemLocation());
+        assertEquals("2024-01-05", lastFilter.getDateFrom());
+        assertNull(lastFilter.getDateTo());
+        assertNull(lastCreatedAt);
+        assertEquals(UserReportServices.DEFAULT_PAGE_SIZE + 1, lastLimit);
+    }
+
+    @Test
+    void rejectsBadDatesAndCursors() {
+        ReportFilter badDate = new ReportFilter();
+        badDate.setDateTo("2024-02-30");
+        ReportFilter reversed = new ReportFilter();
+        reversed.setDateFrom("2024-02-01");
+        reversed.setDateTo("2024-01-01");
+
+        assertThrows(IllegalArgumentException.class, () -> userReportServices.getFiltered(badDate, null, null));
+        assertThrows(IllegalArgumentException.class, () -> userReportServices.getFiltered(reversed, null, null));
+        assertThrows(IllegalArgumentException.class, () -> userReportServices.getFiltered(new ReportFilter(), "bm90LWEtY3Vyc29y", null));
+    }
+
+    @Test
+    void nearFilterNeedsAPointAndABoundedRadius() {
+        ReportFilter near = new ReportFilter();
+        near.setLng(72.5714);
+        near.setLat(23.0225);
+        ReportFilter lngOnly = new ReportFilter();
+        lngOnly.setLng(72.5714);
+        ReportFilter tooFar = new ReportFilter();
+        tooFar.setLng(72.5714);
+        tooFar.setLat(23.0225);
+        tooFar.setRadiusKm(UserReportServices.MAX_RADIUS_METERS / 1000 + 1);
+
+        userReportServices.getFiltered(near, null, null);
+
+        assertEquals(UserReportServices.DEFAULT_RADIUS_METERS / 1000, lastFilter.getRadiusKm());
+        assertThrows(IllegalArgumentException.class, () -> userReportServices.getFiltered(lngOnly, null, null));
+        assertThrows(IllegalArgumentException.class, () -> userReportServices.getFiltered(tooFar, null, null));
+    }
+
+    @Test
+    void nextCursorResumesAfterTheLastItem() {
+        for (int i = 0; i < 5; i++) {
+            rows.add(summary(new Date(10_000L - i * 1000L)));
+        }
+
+        FilteredReports first = userReportServices.getFiltered(new ReportFilter(), null, 3);
+        assertEquals(3, first.getItems().size());
+        assertTrue(first.isHasMore());
+        assertEquals(5, first.getTotal());
+
+        userReportServices.getFiltered(new ReportFilter(), first.getNextCursor(), 3);
+        assertEquals(rows.get(2).getCreatedAt(), lastCreatedAt);
+        assertEquals(new ObjectId(rows.get(2).getId()), lastId);
+
+        rows.subList(0, 3).clear();
+        FilteredReports last = userReportServices.getFiltered(new ReportFilter(), first.getNextCursor(), 3);
+        assertFalse(last.isHasMore());
+        assertNull(last.getNextCursor());
+    }
+
+    // The $facet aggregation itself, against a real mongod, e.g. MONGODB_TEST_URI=mongodb://localhost:27017
+    @Test
+    @EnabledIfEnvironmentVariable(named = "MONGODB_TEST_URI", matches = ".+")
+    void facetsAndPagesOverMatchingReports() {
+        try (MongoClient client = MongoClients.create(System.getenv("MONGODB_TEST_URI"))) {
+            MongoTemplate mongoTemplate = new MongoTemplate(client, "laf_filter_" + new ObjectId());
+            try {
+                String[] categories = {"Electronics", "Bags", "Keys"};
+                for (int i = 0; i < 30; i++) {
+                    UserReport report = new UserReport();
+                    report.setItemType(i % 2 == 0 ? "lost" : "found");
+                    report.setItemCategory(categories[i % 3]);
+                    report.setItemLocation("Library");
+                    report.setItemDate(String.format("2024-01-%02dT10:00", 1 + i));
+                    report.setCreatedAt(new Date(1_700_000_000_000L + (i / 2) * 60_000L));
+                    mongoTemplate.insert(report);
+                }
+                UserReportRepositoryImpl repository = new UserReportRepositoryImpl();
+                ReflectionTestUtils.setField(repository, "mongoTemplate", mongoTemplate);
+                ReportFilter filter = new ReportFilter();
+                filter.setItemType("lost");
+                filter.setDateFrom("2024-01-05");
+                filter.setDateTo("2024-01-21");
+
+                FilteredReports page = repository.findFiltered(filter, null, null, 4);
+
+                // lost reports are the odd days; 5..21 inclusive holds 5, 7, ..., 21
+                assertEquals(9, page.getTotal());
+                assertEquals(Map.of("lost", 9L), page.getFacets().get("itemType"));
+                assertEquals(Map.of("Library", 9L), page.getFacets().get("itemLocation"));
+                assertEquals(List.of("2024-01-21T10:00", "2024-01-19T10:00", "2024-01-17T10:00", "2024-01-15T10:00"),
+                        page.getItems().stream().map(ReportSummary::getItemDate).toList());
+
+                ReportSummary last = page.getItems().get(3);
+                FilteredReports next = repository.findFiltered(filter, last.getCreatedAt(), new ObjectId(last.getId()), 10);
+                assertEquals(5, next.getItems().size());
+                assertEquals("2024-01-13T10:00", next.getItems().get(0).getItemDate());
+            } finally {
+                mongoTemplate.getDb().drop();
+            }
+        }
+    }
+
+    private static ReportSummary summary(Date createdAt) {
+        ReportSummary summary = new ReportSummary();
+        summary.setId(new ObjectId());
+        summary.setCreatedAt(createdAt);
+        return summary;
+    }
+}
@@ -0,0 +1,93 @@
+package com.laf.LostAndFound.storage;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ImageResizerTest {
+
+    @Test
+    void refusesImagesThatClaimTooManyPixelsBeforeDecoding() throws Exception {
+        byte[] png = encode(new BufferedImage(8, 8, BufferedImage.TYPE_INT_RGB), "png");
+        // Rewrite the IHDR chunk to claim 40000x40000; decoding that would need about 6GB
+        ByteBuffer.wrap(png, 16, 8).putInt(40_000).putInt(40_000);
+        CRC32 crc = new CRC32();
+        crc.update(png, 12, 17);
+        ByteBuffer.wrap(png, 29, 4).putInt((int) crc.getValue());
+
+        IOException e = assertThrows(IOException.class, () -> ImageResizer.decode(png, 1024, 50_000_000));
+        assertTrue(e.getMessage().contains("40000x40000"), e.getMessage());
+    }
+
+    @Test
+    void subsamplesLargeOriginalsButKeepsEnoughForTheLargestSize() throws Exception {
+        byte[] png = encode(new BufferedImage(4000, 1000, BufferedImage.TYPE_INT_RGB), "png");
+
+        BufferedImage decoded = ImageResizer.decode(png, 1024, 50_000_000);
+
+        assertTrue(decoded.getWidth() >= 1024 && decoded.getWidth() < 4000, "width " + decoded.getWidth());
+        assertEquals(4.0, (double) decoded.getWidth() / decoded.getHeight(), 0.01);
+    }
+
+    @Test
+    void appliesExifOrientation() throws Exception {
+        // Stored sideways: red on the left, blue on the right; orientation 6 means "turn 90 degrees clockwise"
+        BufferedImage sideways = new BufferedImage(40, 20, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = sideways.createGraphics();
+        g.setColor(Color.RED);
+        g.fillRect(0, 0, 20, 20);
+        g.setColor(Color.BLUE);
+        g.fillRect(20, 0, 20, 20);
+        g.dispose();
+        byte[] jpeg = withOrientation(encode(sideways, "jpeg"), 6);
+
+        assertEquals(6, ImageResizer.orientation(jpeg));
+        BufferedImage upright = ImageResizer.decode(jpeg, 1024, 50_000_000);
+
+        assertEquals(20, upright.getWidth());
+        assertEquals(40, upright.getHeight());
+        assertTrue(new Color(upright.getRGB(10, 5)).getRed() > 200, "top should be red");
+        assertTrue(new Color(upright.getRGB(10, 35)).getBlue() > 200, "bottom should be blue");
+    }
+
+    @Test
+    void missingOrientationMeansUpright() throws Exception {
+        assertEquals(1, ImageResizer.orientation(encode(new BufferedImage(4, 4, BufferedImage.TYPE_INT_RGB), "jpeg")));
+        assertEquals(1, ImageResizer.orientation(encode(new BufferedImage(4, 4, BufferedImage.TYPE_INT_RGB), "png")));
+    }
+
+    private static byte[] encode(BufferedImage image, String format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, format, out);
+        return out.toByteArray();
+    }
+
+    // Inserts a big-endian Exif APP1 segment holding only the Orientation tag after the JFIF APP0 segment
+    private static byte[] withOrientation(byte[] jpeg, int orientation) {
+        ByteBuffer tiff = ByteBuffer.allocate(26);
+        tiff.put((byte) 'M').put((byte) 'M').putShort((short) 42).putInt(8);
+        tiff.putShort((short) 1);
+        tiff.putShort((short) 0x0112).putShort((short) 3).putInt(1).putShort((short) orientation).putShort((short) 0);
+        tiff.putInt(0);
+        byte[] exif = {'E', 'x', 'i', 'f', 0, 0};
+        int length = 2 + exif.length + tiff.capacity();
+
+        int app0End = 4 + (((jpeg[4] & 0xFF) << 8) | (jpeg[5] & 0xFF));
+        ByteBuffer out = ByteBuffer.allocate(jpeg.length + 2 + length);
+        out.put(jpeg, 0, app0End);
+        out.put((byte) 0xFF).put((byte) 0xE1).putShort((short) length).put(exif).put(tiff.array());
+        out.put(jpeg, app0End, jpeg.length - app0End);
+        return out.array();
+    }
+}
@@ -0,0 +1,153 @@
+package com.laf.LostAndFound.load;
+
+import com.laf.LostAndFound.entity.UserReport;
+import com.laf.LostAndFound.storage.LocalPhotoStore;
+import com.mongodb.ConnectionString;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+// Writes synthetic users and reports straight into Mongo, in the shape the application saves them, before
+// the application starts (so its startup rebuilds see the full data set). Photos are real JPEGs in the
+// 100-400KB range a phone upload ends up at, stored in the local photo store and shared between reports.
+// Most reports are pinned within a few metres of their location's spot on a 1.2 km campus.
+class DataSeeder {
+
+    static final String PASSWORD = "load-test-password";
+    static final String[] WORDS = {"wallet", "phone", "keys", "backpack", "laptop", "umbrella", "bottle", "jacket",
+            "headphones", "charger", "notebook", "calculator", "watch", "glasses", "id card", "earbuds"};
+    private static final String[] COLORS = {"black", "blue", "red", "grey", "green", "white", "brown", "silver"};
+    private static final String[] CATEGORIES = {"Electronics", "Keys", "Bags", "Documents", "Clothing", "Wallets",
+            "Accessories", "Books", "Other"};
+    private static final String[] LOCATIONS = {"Library", "Cafeteria", "Parking Lot", "Gym", "Lecture Hall A",
+            "Lecture Hall B", "Hostel Block C", "Auditorium", "Bus Stop", "Computer Lab"};
+    static final double CAMPUS_LNG = 72.5714;
+    static final double CAMPUS_LAT = 23.0225;
+    private static final int PHOTOS = 24;
+    private static final int BATCH = 2000;
+
+    private final Random random = new Random(7);
+
+    static String emailOf(int user) {
+        return "student" + user + "@campus.edu";
+    }
+
+    static int usersFor(int reports) {
+        return Math.max(100, reports / 20);
+    }
+
+    void seed(String mongoUri, String photoDir, int reports) throws IOException {
+        List<String> photoIds = seedPhotos(photoDir);
+        try (MongoClient client = MongoClients.create(mongoUri)) {
+            String name = new ConnectionString(mongoUri).getDatabase();
+            MongoDatabase database = client.getDatabase(name != null ? name : "lostAndFound");
+            seedUsers(database.getCollection("users"), usersFor(reports));
+            seedReports(database.getCollection("userReports"), reports, usersFor(reports), photoIds);
+        }
+    }
+
+    private List<String> seedPhotos(String photoDir) throws IOException {
+        LocalPhotoStore store = new LocalPhotoStore(photoDir);
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < PHOTOS; i++) {
+            ids.add(store.store(jpeg(800 + random.nextInt(800), 600 + random.nextInt(600)), "image/jpeg"));
+        }
+        return ids;
+    }
+
+    // Gradient plus noise compresses about like a photo
+    private byte[] jpeg(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        int base = random.nextInt(0xFFFFFF);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int noise = random.nextInt(48);
+                int r = ((base >> 16) & 0xFF) * x / width + noise;
+                int g = ((base >> 8) & 0xFF) * y / height + noise;
+                int b = (base & 0xFF) + noise;
+                image.setRGB(x, y, (Math.min(r, 255) << 16) | (Math.min(g, 255) << 8) | Math.min(b, 255));
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpg", out);
+        return out.toByteArray();
+    }
+
+    private void seedUsers(MongoCollection<Document> users, int count) {
+        // One hash for everyone: seeding a million BCrypt hashes would take hours
+        String hash = new BCryptPasswordEncoder(10).encode(PASSWORD);
+        Date now = new Date();
+        List<Document> batch = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            batch.add(new Document("_id", new ObjectId())
+                    .append("username", "Student " + i)
+                    .append("email", emailOf(i))
+                    .append("password", hash)
+                    .append("phone", "98" + (10000000 + random.nextInt(89999999)))
+                    .append("createdAt", now)
+                    .append("updatedAt", now));
+            if (batch.size() == BATCH) {
+                users.insertMany(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) users.insertMany(batch);
+    }
+
+    private void seedReports(MongoCollection<Document> collection, int count, int users, List<String> photoIds) {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        List<Document> batch = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String name = COLORS[random.nextInt(COLORS.length)] + " " + WORDS[random.nextInt(WORDS.length)];
+            String category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+            int spot = random.nextInt(LOCATIONS.length);
+            String location = LOCATIONS[spot];
+            LocalDate day = today.minusDays(random.nextInt(365));
+            String email = emailOf(random.nextInt(users));
+            Document report = new Document("_id", new ObjectId())
+                    .append("itemType", random.nextBoolean() ? "Lost" : "Found")
+                    .append("itemName", name)
+                    .append("itemCategory", category)
+                    .append("itemLocation", location)
+                    .append("itemDate", day.toString())
+                    .append("itemDescription", "Last seen near the " + location.toLowerCase() + ", " + name
+                            + " with a small mark on one side. Please contact if found.")
+                    .append("email", email)
+                    .append("phone", "98" + (10000000 + random.nextInt(89999999)))
+                    .append("dedupeKey", UserReport.dedupeKeyOf(name, category, location, day.toString()))
+                    .append("createdAt", Date.from(day.atTime(8 + random.nextInt(12), random.nextInt(60)).toInstant(ZoneOffset.UTC)))
+                    .append("updatedAt", new Date());
+            if (random.nextInt(10) < 7) {
+                // Spots sit on a 4 x 3 grid 400 m apart; pins scatter about 30 m around them
+                double lng = CAMPUS_LNG + (spot % 4 - 1.5) * 0.004 + (random.nextDouble() - 0.5) * 0.0006;
+                double lat = CAMPUS_LAT + (spot / 4 - 1) * 0.004 + (random.nextDouble() - 0.5) * 0.0006;
+                report.append("coordinates", new Document("type", "Point").append("coordinates", List.of(lng, lat)));
+            }
+            // Most reports carry a photo
+            if (random.nextInt(10) < 8) {
+                report.append("photoId", photoIds.get(random.nextInt(photoIds.size())));
+            }
+            batch.add(report);
+            if (batch.size() == BATCH) {
+                collection.insertMany(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) collection.insertMany(batch);
+    }
+}
@@ -0,0 +1,97 @@
+package com.laf.LostAndFound.load;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+// Closed-loop load: each worker sends its next request as soon as the previous one completes, for a fixed
+// time. Latency is measured per request on the worker, from send to the last body byte.
+class LoadDriver {
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    Result run(String endpoint, int concurrency, Duration warmup, Duration duration,
+               Function<ThreadLocalRandom, HttpRequest> requests) throws InterruptedException {
+        long warmupEnd = System.nanoTime() + warmup.toNanos();
+        long end = warmupEnd + duration.toNanos();
+        Worker[] workers = new Worker[concurrency];
+        Thread[] threads = new Thread[concurrency];
+        for (int i = 0; i < concurrency; i++) {
+            workers[i] = new Worker(requests, warmupEnd, end);
+            threads[i] = new Thread(workers[i], "load-" + endpoint + "-" + i);
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        long errors = 0;
+        int total = 0;
+        for (Worker worker : workers) {
+            errors += worker.errors;
+            total += worker.count;
+        }
+        long[] latencies = new long[total];
+        int offset = 0;
+        for (Worker worker : workers) {
+            System.arraycopy(worker.latencies, 0, latencies, offset, worker.count);
+            offset += worker.count;
+        }
+        Arrays.sort(latencies);
+        return new Result(endpoint, concurrency, total, errors, total / (duration.toNanos() / 1e9),
+                percentile(latencies, 0.50), percentile(latencies, 0.99),
+                latencies.length > 0 ? latencies[latencies.length - 1] / 1e6 : 0);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * p))] / 1e6;
+    }
+
+    private class Worker implements Runnable {
+        private final Function<ThreadLocalRandom, HttpRequest> requests;
+        private final long warmupEnd;
+        private final long end;
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        Worker(Function<ThreadLocalRandom, HttpRequest> requests, long warmupEnd, long end) {
+            this.requests = requests;
+            this.warmupEnd = warmupEnd;
+            this.end = end;
+        }
+
+        @Override
+        public void run() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            while (true) {
+                long start = System.nanoTime();
+                if (start >= end) return;
+                boolean ok;
+                try {
+                    HttpResponse<Void> response = client.send(requests.apply(random), HttpResponse.BodyHandlers.discarding());
+                    ok = response.statusCode() < 400;
+                } catch (Exception e) {
+                    ok = false;
+                }
+                long finished = System.nanoTime();
+                if (start < warmupEnd) continue;
+                if (!ok) errors++;
+                if (count == latencies.length) latencies = Arrays.copyOf(latencies, count * 2);
+                latencies[count++] = finished - start;
+            }
+        }
+    }
+
+    record Result(String endpoint, int concurrency, long requests, long errors, double throughput,
+                  double p50Ms, double p99Ms, double maxMs) {
+    }
+}
@@ -0,0 +1,253 @@
+package com.laf.LostAndFound.load;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.laf.LostAndFound.LostAndFoundApplication;
+import com.laf.LostAndFound.search.ReportSearchIndex;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import de.bwaldvogel.mongo.bson.Document;
+import io.netty.channel.Channel;
+import org.bson.types.ObjectId;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// End-to-end load test: for each data set size, starts an in-memory Mongo stand-in (mongo-java-server,
+// speaks the wire protocol, no mongod or containers), seeds it, boots the application against it on a
+// random port, and drives each endpoint for a fixed time. Prints throughput and p50/p99 per endpoint and
+// writes target/load-test/results.json. Run with mvn -Pload-test verify; see the profile in pom.xml.
+// With -Dload.mongo-uri the same runs go against a real mongod instead, which is the only way to measure
+// "near": the stand-in does not implement $geoNear. Each size then gets its own laf_load_<id> database on that
+// server, dropped afterwards; the database named in the URI is never read or written.
+//
+// The stand-in does not model Mongo's disk, caches or query planner, so absolute numbers are for comparing
+// builds and data sizes on the same machine, not for capacity planning against Atlas.
+public class LoadTestSuite {
+
+    public static void main(String[] args) throws Exception {
+        // Seeding runs before Spring configures logging; keep the stand-in's per-connection lines out of the report
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+        // DevTools is on the runtime classpath and would re-run main() in a restart class loader
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        int[] sizes = Arrays.stream(System.getProperty("load.sizes", "10000,100000,1000000").split(","))
+                .map(String::trim).mapToInt(Integer::parseInt).toArray();
+        int concurrency = Integer.getInteger("load.concurrency", 16);
+        // A full /all response at 1M reports is hundreds of MB, so fewer of them run at once
+        int allConcurrency = Integer.getInteger("load.all-concurrency", 2);
+        Duration warmup = Duration.ofSeconds(Integer.getInteger("load.warmup-seconds", 10));
+        Duration duration = Duration.ofSeconds(Integer.getInteger("load.duration-seconds", 30));
+        Set<String> endpoints = Set.of(System.getProperty("load.endpoints", "all,latest,search,category-stats,login,near").split(","));
+        String mongoUri = System.getProperty("load.mongo-uri", "");
+        // e.g. virtual-threads, to compare against the platform-thread default on the same data
+        String springProfiles = System.getProperty("load.spring-profiles", "");
+        Path output = Path.of(System.getProperty("load.output", "target/load-test"));
+        Files.createDirectories(output);
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (int size : sizes) {
+            for (LoadDriver.Result result : runSize(size, mongoUri, springProfiles, concurrency, allConcurrency, warmup,
+                    duration, endpoints, output)) {
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("reports", size);
+                row.put("springProfiles", springProfiles);
+                row.put("result", result);
+                results.add(row);
+            }
+        }
+
+        System.out.printf("%nSpring profiles: %s", springProfiles.isBlank() ? "(default)" : springProfiles);
+        System.out.printf("%n%9s  %-15s %5s %9s %7s %10s %9s %9s %9s%n",
+                "reports", "endpoint", "conc", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms");
+        for (Map<String, Object> row : results) {
+            LoadDriver.Result r = (LoadDriver.Result) row.get("result");
+            System.out.printf("%9d  %-15s %5d %9d %7d %10.1f %9.2f %9.2f %9.2f%n", row.get("reports"), r.endpoint(),
+                    r.concurrency(), r.requests(), r.errors(), r.throughput(), r.p50Ms(), r.p99Ms(), r.maxMs());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(output.resolve("results.json").toFile(), results);
+        System.exit(0);
+    }
+
+    private static List<LoadDriver.Result> runSize(int reports, String externalMongoUri, String springProfiles,
+                                                   int concurrency, int allConcurrency, Duration warmup,
+                                                   Duration duration, Set<String> endpoints, Path output) throws Exception {
+        MongoServer mongo = null;
+        String mongoUri = externalMongoUri;
+        String scratchDatabase = null;
+        if (mongoUri.isBlank()) {
+            mongo = new MongoServer(new BatchedMemoryBackend());
+            InetSocketAddress address = mongo.bind();
+            mongoUri = "mongodb://127.0.0.1:" + address.getPort() + "/lostAndFound";
+        } else {
+            scratchDatabase = "laf_load_" + new ObjectId();
+            mongoUri = withDatabase(mongoUri, scratchDatabase);
+        }
+        Path photoDir = Files.createTempDirectory(output, "photos-");
+        ConfigurableApplicationContext context = null;
+        try {
+            long seedStart = System.nanoTime();
+            new DataSeeder().seed(mongoUri, photoDir.toString(), reports);
+            System.out.printf("Seeded %d reports in %.1f s%n", reports, (System.nanoTime() - seedStart) / 1e9);
+
+            context = new SpringApplicationBuilder(LostAndFoundApplication.class).run(
+                    "--server.port=0",
+                    // Nothing scrapes it here, and a fixed port would clash with a locally running instance
+                    "--management.server.port=-1",
+                    "--spring.data.mongodb.uri=" + mongoUri,
+                    "--photo.store=local",
+                    "--photo.local.dir=" + photoDir,
+                    // The stand-in has no query planner to explain with
+                    "--mongo.query-plans.check=" + (mongo != null ? "off" : "warn"),
+                    // Every request comes from one address; the limits would turn the run into a 429 test
+                    "--rate-limit.enabled=false",
+                    "--google.auth.certs-url=http://127.0.0.1:9/certs",
+                    "--logging.level.root=WARN",
+                    // Compound and sparse indexes are accepted but not built by the stand-in; it says so per index
+                    "--logging.level.de.bwaldvogel=ERROR",
+                    "--spring.profiles.active=" + springProfiles);
+            awaitStartupRebuilds(context);
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            String base = "http://127.0.0.1:" + port;
+
+            Map<String, Function<ThreadLocalRandom, HttpRequest>> scenarios = new LinkedHashMap<>();
+            scenarios.put("all", random -> get(base + "/user-reports/all"));
+            scenarios.put("latest", random -> get(base + "/user-reports/latest"));
+            scenarios.put("search", random -> get(base + "/lostAndFound/search?itemName="
+                    + URLEncoder.encode(DataSeeder.WORDS[random.nextInt(DataSeeder.WORDS.length)], StandardCharsets.UTF_8)));
+            scenarios.put("category-stats", random -> get(base + "/user-reports/category-stats"));
+            scenarios.put("near", random -> get(base + "/user-reports/near?radiusKm=0.5&lng="
+                    + (DataSeeder.CAMPUS_LNG + (random.nextDouble() - 0.5) * 0.012)
+                    + "&lat=" + (DataSeeder.CAMPUS_LAT + (random.nextDouble() - 0.5) * 0.008)));
+            int users = DataSeeder.usersFor(reports);
+            scenarios.put("login", random -> HttpRequest.newBuilder(URI.create(base + "/lostAndFound/user-login"))
+                    .timeout(Duration.ofMinutes(2))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"" + DataSeeder.emailOf(random.nextInt(users))
+                            + "\",\"password\":\"" + DataSeeder.PASSWORD + "\"}"))
+                    .build());
+
+            LoadDriver driver = new LoadDriver();
+            List<LoadDriver.Result> results = new ArrayList<>();
+            for (Map.Entry<String, Function<ThreadLocalRandom, HttpRequest>> scenario : scenarios.entrySet()) {
+                if (!endpoints.contains(scenario.getKey())) continue;
+                if (mongo != null && scenario.getKey().equals("near")) {
+                    System.out.println("Skipping near: the stand-in has no $geoNear; run with -Dload.mongo-uri");
+                    continue;
+                }
+                int workers = scenario.getKey().equals("all") ? Math.min(concurrency, allConcurrency) : concurrency;
+                LoadDriver.Result result = driver.run(scenario.getKey(), workers, warmup, duration, scenario.getValue());
+                System.out.printf("%d reports, %s: %.1f req/s, p50 %.2f ms, p99 %.2f ms, %d errors%n", reports,
+                        result.endpoint(), result.throughput(), result.p50Ms(), result.p99Ms(), result.errors());
+                results.add(result);
+            }
+            return results;
+        } finally {
+            if (context != null) context.close();
+            if (mongo != null) mongo.shutdownNow();
+            if (scratchDatabase != null) {
+                try (MongoClient client = MongoClients.create(mongoUri)) {
+                    client.getDatabase(scratchDatabase).drop();
+                }
+            }
+            deleteRecursively(photoDir.toFile());
+        }
+    }
+
+    // mongod ends a reply batch at 16MB; the stand-in returns every matching document in one reply unless the
+    // driver sends a batch size, which overflows the driver's 48MB reply limit on large collections
+    private static class BatchedMemoryBackend extends MemoryBackend {
+        private static final int DEFAULT_BATCH_SIZE = 10_000;
+
+        @Override
+        public Document handleCommand(Channel channel, String databaseName, String command, Document query) {
+            if (command.equalsIgnoreCase("find")) {
+                defaultBatchSize(query);
+            }
+            return super.handleCommand(channel, databaseName, command, query);
+        }
+
+        @Override
+        protected Document handleGetMore(String databaseName, String command, Document query) {
+            defaultBatchSize(query);
+            return super.handleGetMore(databaseName, command, query);
+        }
+
+        private static void defaultBatchSize(Document query) {
+            Object batchSize = query.get("batchSize");
+            if (!(batchSize instanceof Number) || ((Number) batchSize).intValue() <= 0) {
+                query.put("batchSize", DEFAULT_BATCH_SIZE);
+            }
+        }
+    }
+
+    // Same server, credentials and options; only the database path is replaced. Credentials keep
+    // authenticating against the database they did before, which the path used to imply.
+    static String withDatabase(String uri, String database) {
+        Matcher matcher = Pattern.compile("^(mongodb(?:\\+srv)?://([^/?]+))(?:/([^?]*))?(\\?.*)?$").matcher(uri);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Not a mongodb:// URI: " + uri);
+        }
+        String options = matcher.group(4) != null ? matcher.group(4) : "";
+        if (matcher.group(2).contains("@") && !options.contains("authSource=")) {
+            String authSource = matcher.group(3) != null && !matcher.group(3).isEmpty() ? matcher.group(3) : "admin";
+            options += (options.isEmpty() ? "?" : "&") + "authSource=" + authSource;
+        }
+        return matcher.group(1) + "/" + database + options;
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofMinutes(2)).GET().build();
+    }
+
+    // Search, stats and matching indexes are built by background threads after startup; measuring while
+    // they run would charge their CPU to the first scenario
+    private static void awaitStartupRebuilds(ConfigurableApplicationContext context) throws InterruptedException {
+        ReportSearchIndex searchIndex = context.getBean(ReportSearchIndex.class);
+        Set<String> rebuilders = Set.of("search-index-rebuild", "stats-rebuild", "match-index-rebuild");
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MINUTES.toNanos(30);
+        while (Thread.getAllStackTraces().keySet().stream().anyMatch(thread -> rebuilders.contains(thread.getName()))) {
+            if (System.nanoTime() > deadline) throw new IllegalStateException("Startup rebuilds still running after 30 minutes");
+            Thread.sleep(200);
+        }
+        if (!searchIndex.isReady()) {
+            throw new IllegalStateException("Search index rebuild failed; see the log above");
+        }
+        System.out.printf("Startup rebuilds finished in %.1f s%n", (System.nanoTime() - start) / 1e9);
+    }
+
+    private static void deleteRecursively(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) deleteRecursively(child);
+        }
+        file.delete();
+    }
+}